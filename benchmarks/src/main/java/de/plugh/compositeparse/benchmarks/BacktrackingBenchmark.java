@@ -0,0 +1,89 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.Options;
+import de.plugh.compositeparse.parsers.Repeat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a grammar in which almost every attempt fails: a varying amount of alternatives that all read the same long
+ * prefix before they differ, and only the last of which matches. Since the alternatives are lambdas, {@link Options}
+ * can't skip any of them by their first character.
+ * <p>
+ * Every failed alternative throws a {@link ParseException} that is caught and thrown away. {@code options} and
+ * {@code ignoreMessages} only pay for creating those exceptions. {@code formatMessages} also asks each exception for
+ * its message, which is what every failure used to cost before exceptions computed their message lazily.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BacktrackingBenchmark {
+
+    private static final Repeat<String> PREFIX = new Repeat<>(Literal.literally("ab"));
+
+    @Param({"4", "16", "64"})
+    public int alternatives;
+
+    private String input;
+    private List<Parser<Integer>> parsers;
+    private Options<Integer> options;
+
+    @Setup
+    public void setup() {
+        parsers = new ArrayList<>();
+        for (int i = 0; i < alternatives; i++) {
+            int value = i;
+            Literal<String> keyword = Literal.literally("kw" + i + ";");
+            parsers.add(block -> {
+                PREFIX.parse(block);
+                keyword.parse(block);
+                return value;
+            });
+        }
+        options = new Options<>(parsers);
+        input = Inputs.repeat("ab", 32) + "kw" + (alternatives - 1) + ";";
+    }
+
+    @Benchmark
+    public Integer options() throws ParseException {
+        return options.parse(new Block(input));
+    }
+
+    @Benchmark
+    public Integer ignoreMessages() {
+        Block block = new Block(input);
+        for (Parser<Integer> parser : parsers) {
+            try {
+                return parser.parse(block);
+            } catch (ParseException ignored) {
+                // Try the next one
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Integer formatMessages() {
+        Block block = new Block(input);
+        int length = 0;
+        for (Parser<Integer> parser : parsers) {
+            try {
+                return parser.parse(block) + length;
+            } catch (ParseException e) {
+                length += e.getMessage().length();
+            }
+        }
+        return length;
+    }
+
+}
@@ -0,0 +1,43 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.BoundedInteger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses integers with a varying amount of digits, once boxed and once through {@link BoundedInteger#parseInt(Block)}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoundedIntegerBenchmark {
+
+    private static final BoundedInteger INTEGER = new BoundedInteger();
+
+    @Param({"1", "5", "9"})
+    public int digits;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = "-" + "987654321".substring(0, digits);
+    }
+
+    @Benchmark
+    public Integer boxed() throws ParseException {
+        return INTEGER.parse(new Block(input));
+    }
+
+    @Benchmark
+    public int unboxed() throws ParseException {
+        return INTEGER.parseInt(new Block(input));
+    }
+
+}
@@ -0,0 +1,59 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.Pair;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+import de.plugh.compositeparse.parsers.BoundedInteger;
+import de.plugh.compositeparse.parsers.Decision;
+import de.plugh.compositeparse.parsers.Literal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses {@code key<n>=<integer>} with a {@link Decision} that has a varying amount of branches, taking the first or
+ * the last branch. The heads share their first characters, so they are tried in order.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecisionBenchmark {
+
+    private static final BoundedInteger VALUE = new BoundedInteger();
+
+    @Param({"2", "8", "32"})
+    public int branches;
+
+    private String first;
+    private String last;
+    private Decision<Integer> decision;
+
+    @Setup
+    public void setup() {
+        List<Pair<Parser<?>, Parser<Integer>>> pairs = new ArrayList<>();
+        for (int i = 0; i < branches; i++) {
+            pairs.add(new Pair<>(Literal.literally("key" + i + "="), VALUE));
+        }
+        decision = new Decision<>(pairs);
+
+        first = "key0=12345";
+        last = "key" + (branches - 1) + "=12345";
+    }
+
+    @Benchmark
+    public Integer first() throws ParseException {
+        return decision.parse(new Block(first));
+    }
+
+    @Benchmark
+    public Integer last() throws ParseException {
+        return decision.parse(new Block(last));
+    }
+
+}
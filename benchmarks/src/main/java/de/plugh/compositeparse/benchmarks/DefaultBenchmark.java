@@ -0,0 +1,49 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.Default;
+import de.plugh.compositeparse.parsers.Literal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a {@link Default} whose parser succeeds ("present") or fails after reading a varying amount of characters
+ * ("absent").
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int length;
+
+    private String present;
+    private String absent;
+    private Default<String> parser;
+
+    @Setup
+    public void setup() {
+        String literal = Inputs.letters(length);
+        present = literal;
+        // Only the last character differs, so the literal fails as late as possible
+        absent = literal.substring(0, length - 1) + "!";
+        parser = new Default<>("default", Literal.literally(literal));
+    }
+
+    @Benchmark
+    public String present() throws ParseException {
+        return parser.parse(new Block(present));
+    }
+
+    @Benchmark
+    public String absent() throws ParseException {
+        return parser.parse(new Block(absent));
+    }
+
+}
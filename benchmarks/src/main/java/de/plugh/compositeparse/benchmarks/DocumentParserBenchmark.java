@@ -0,0 +1,54 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.xml.Document;
+import de.plugh.compositeparse.xml.DocumentParser;
+import de.plugh.compositeparse.xml.XmlHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a whole {@link XmlCorpus} document with {@link DocumentParser}, building a tree and in event mode.
+ * <p>
+ * Unlike {@link XmlThroughput}, this reports the time per document, so it can be compared directly with a build of an
+ * older version (e. g. one that still compiled a regex in every step, see {@link RegexBenchmark}).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentParserBenchmark {
+
+    private static final DocumentParser TREE = new DocumentParser();
+    private static final DocumentParser EVENTS = new DocumentParser(new XmlHandler() {
+    });
+
+    @Param({"wide", "attributes", "text"})
+    public String shape;
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    private String xml;
+
+    @Setup
+    public void setup() {
+        xml = XmlCorpus.generate(XmlCorpus.Shape.valueOf(shape.toUpperCase(Locale.ROOT)), size, 42);
+    }
+
+    @Benchmark
+    public Document tree() throws ParseException {
+        return TREE.parse(new Block(xml));
+    }
+
+    @Benchmark
+    public Document events() throws ParseException {
+        return EVENTS.parse(new Block(xml));
+    }
+
+}
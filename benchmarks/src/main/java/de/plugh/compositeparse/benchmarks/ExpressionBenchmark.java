@@ -0,0 +1,38 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.Expression;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses an {@link Expression} that matches a varying amount of characters.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExpressionBenchmark {
+
+    private static final Expression WORD = new Expression("^[a-z]+");
+
+    @Param({"1", "16", "256"})
+    public int length;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        input = Inputs.letters(length) + " rest";
+    }
+
+    @Benchmark
+    public String expression() throws ParseException {
+        return WORD.parse(new Block(input));
+    }
+
+}
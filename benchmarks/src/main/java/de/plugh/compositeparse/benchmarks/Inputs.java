@@ -0,0 +1,54 @@
+package de.plugh.compositeparse.benchmarks;
+
+/**
+ * Builds the synthetic inputs of the benchmarks. All of them are deterministic, so that results of different runs can
+ * be compared.
+ */
+final class Inputs {
+
+    private Inputs() {
+    }
+
+    /**
+     * @param text   the text to repeat
+     * @param amount how often to repeat it
+     * @return the text, repeated
+     */
+    static String repeat(String text, int amount) {
+        StringBuilder result = new StringBuilder(text.length() * amount);
+        for (int i = 0; i < amount; i++) {
+            result.append(text);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @param amount    how often to repeat the element
+     * @param element   the text to repeat
+     * @param separator the text between two elements
+     * @return the elements, separated by the separator
+     */
+    static String separated(int amount, String element, String separator) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < amount; i++) {
+            if (i > 0) {
+                result.append(separator);
+            }
+            result.append(element);
+        }
+        return result.toString();
+    }
+
+    /**
+     * @param length the amount of letters
+     * @return the lower case letters from a to z, repeated until the text is long enough
+     */
+    static String letters(int length) {
+        StringBuilder result = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            result.append((char) ('a' + i % 26));
+        }
+        return result.toString();
+    }
+
+}
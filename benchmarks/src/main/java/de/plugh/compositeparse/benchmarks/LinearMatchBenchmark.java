@@ -0,0 +1,54 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.EndOfInput;
+import de.plugh.compositeparse.parsers.Expression;
+import de.plugh.compositeparse.parsers.RepeatFold;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Matches a regex over and over again until the end of inputs of up to 50 MB, to show that regex matching takes time
+ * linear in the size of the input.
+ * <p>
+ * Matching used to copy the rest of the input before each match, which made this quadratic. Now the time per op should
+ * grow by the same factor as the size, so the time per character stays about the same for all sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class LinearMatchBenchmark {
+
+    private static final RepeatFold<String, ?, Long> WORDS = new RepeatFold<>(new Expression("^[a-z]+ "),
+            Collectors.counting());
+    private static final EndOfInput<Void> END = new EndOfInput<>();
+
+    @Param({"1048576", "10485760", "52428800"})
+    public int size;
+
+    private String input;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder(size + 32);
+        while (builder.length() < size) {
+            builder.append(Inputs.letters(1 + builder.length() % 13)).append(' ');
+        }
+        input = builder.toString();
+    }
+
+    @Benchmark
+    public long words() throws ParseException {
+        Block block = new Block(input);
+        long words = WORDS.parse(block);
+        END.parse(block);
+        return words;
+    }
+
+}
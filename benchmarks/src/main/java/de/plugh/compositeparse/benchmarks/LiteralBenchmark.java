@@ -0,0 +1,38 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.Literal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a {@link Literal} of varying length.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LiteralBenchmark {
+
+    @Param({"1", "16", "256"})
+    public int length;
+
+    private String input;
+    private Literal<String> literal;
+
+    @Setup
+    public void setup() {
+        input = Inputs.letters(length);
+        literal = Literal.literally(input);
+    }
+
+    @Benchmark
+    public String literal() throws ParseException {
+        return literal.parse(new Block(input));
+    }
+
+}
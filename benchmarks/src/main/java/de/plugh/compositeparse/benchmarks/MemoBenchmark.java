@@ -0,0 +1,97 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+import de.plugh.compositeparse.parsers.BoundedInteger;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.Memo;
+import de.plugh.compositeparse.parsers.Options;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a number wrapped in a varying amount of parentheses, like {@code (((1)))}, with the grammar
+ * <pre>
+ * E = T "+" E | T "-" E | T
+ * T = "(" E ")" | number
+ * </pre>
+ * Each {@code E} parses its {@code T} three times before the last alternative succeeds, so without memoization, the
+ * work triples with every level of nesting. With the {@code T}s (and {@code E}s) wrapped in a {@link Memo}, every rule
+ * runs at most once per position, and the work grows linearly with the depth.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoBenchmark {
+
+    private static final Literal<String> PLUS = Literal.literally("+");
+    private static final Literal<String> MINUS = Literal.literally("-");
+    private static final Literal<String> OPEN = Literal.literally("(");
+    private static final Literal<String> CLOSE = Literal.literally(")");
+    private static final BoundedInteger NUMBER = new BoundedInteger();
+
+    @Param({"3", "6", "9"})
+    public int depth;
+
+    private String input;
+    private Parser<Integer> plain;
+    private Parser<Integer> memo;
+
+    @Setup
+    public void setup() {
+        input = "(".repeat(depth) + "1" + ")".repeat(depth);
+        plain = new Grammar(false).expression;
+        memo = new Grammar(true).expression;
+    }
+
+    @Benchmark
+    public Integer plain() throws ParseException {
+        return plain.parse(new Block(input));
+    }
+
+    @Benchmark
+    public Integer memo() throws ParseException {
+        return memo.parse(new Block(input));
+    }
+
+    private static class Grammar {
+
+        Parser<Integer> expression;
+        Parser<Integer> term;
+
+        Grammar(boolean memoize) {
+            Parser<Integer> expression = new Options<>(
+                    block -> {
+                        int left = this.term.parse(block);
+                        PLUS.parse(block);
+                        return left + this.expression.parse(block);
+                    },
+                    block -> {
+                        int left = this.term.parse(block);
+                        MINUS.parse(block);
+                        return left - this.expression.parse(block);
+                    },
+                    block -> this.term.parse(block)
+            );
+            Parser<Integer> term = new Options<>(
+                    block -> {
+                        OPEN.parse(block);
+                        int value = this.expression.parse(block);
+                        CLOSE.parse(block);
+                        return value;
+                    },
+                    NUMBER
+            );
+
+            this.expression = memoize ? new Memo<>(expression) : expression;
+            this.term = memoize ? new Memo<>(term) : term;
+        }
+
+    }
+
+}
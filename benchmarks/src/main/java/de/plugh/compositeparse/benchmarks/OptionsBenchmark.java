@@ -0,0 +1,55 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.Options;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the last of a varying amount of alternatives with {@link Options}.
+ * <p>
+ * If the alternatives start with distinct characters, {@link Options} can go straight to the right one. If they share
+ * their first character, all of them have to be tried in order.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptionsBenchmark {
+
+    private static final String FIRST_CHARACTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    @Param({"2", "8", "32"})
+    public int alternatives;
+
+    @Param({"distinct", "shared"})
+    public String firstCharacters;
+
+    private String input;
+    private Options<String> options;
+
+    @Setup
+    public void setup() {
+        List<Parser<String>> parsers = new ArrayList<>();
+        for (int i = 0; i < alternatives; i++) {
+            String keyword = firstCharacters.equals("distinct") ? FIRST_CHARACTERS.charAt(i) + "kw" : "kw" + i + ";";
+            parsers.add(Literal.literally(keyword));
+            input = keyword;
+        }
+        options = new Options<>(parsers);
+    }
+
+    @Benchmark
+    public String options() throws ParseException {
+        return options.parse(new Block(input));
+    }
+
+}
@@ -0,0 +1,77 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+import de.plugh.compositeparse.parsers.BoundedInteger;
+import de.plugh.compositeparse.parsers.CharClass;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.ParallelRepeat;
+import de.plugh.compositeparse.parsers.Repeat;
+import de.plugh.compositeparse.parsers.TakeWhile1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses 16 MB of lines like {@code abc123,456} with a {@link ParallelRepeat} on pools of varying parallelism.
+ * <p>
+ * On a machine with enough cores, the time per op should shrink almost in proportion to the parallelism, until the
+ * cores (or the memory bandwidth) run out. Compare the results with the number of available cores, since more threads
+ * than cores can't help. With a parallelism of 1, the chunks are parsed one after the other, which shows the overhead
+ * of splitting the input compared to a plain {@link Repeat}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ParallelRepeatBenchmark {
+
+    private static final int SIZE = 16 << 20;
+
+    private static final TakeWhile1 NAME = new TakeWhile1(CharClass.range('a', 'z'));
+    private static final BoundedInteger NUMBER = new BoundedInteger();
+    private static final Literal<String> COMMA = Literal.literally(",");
+    private static final Literal<String> NEWLINE = Literal.literally("\n");
+
+    private static final Parser<Integer> LINE = block -> {
+        NAME.parse(block);
+        int first = NUMBER.parse(block);
+        COMMA.parse(block);
+        return first + NUMBER.parse(block);
+    };
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private String input;
+    private ForkJoinPool pool;
+    private ParallelRepeat<Integer> parallel;
+
+    @Setup
+    public void setup() {
+        StringBuilder builder = new StringBuilder(SIZE + 64);
+        for (int i = 0; builder.length() < SIZE; i++) {
+            builder.append(Inputs.letters(1 + i % 13)).append(i).append(',').append(i * 7 % 1000).append('\n');
+        }
+        input = builder.toString();
+
+        pool = new ForkJoinPool(parallelism);
+        parallel = new ParallelRepeat<>(NEWLINE, LINE, CharClass.of("\n"), pool);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Integer> parallel() throws ParseException {
+        return parallel.parse(new Block(input));
+    }
+
+}
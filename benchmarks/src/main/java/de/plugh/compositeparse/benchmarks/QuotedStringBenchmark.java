@@ -0,0 +1,47 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.QuotedString;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a {@link QuotedString} of varying length, with and without escaped characters.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuotedStringBenchmark {
+
+    private static final QuotedString STRING = new QuotedString();
+
+    @Param({"1", "16", "256"})
+    public int length;
+
+    private String plain;
+    private String escaped;
+
+    @Setup
+    public void setup() {
+        String content = Inputs.letters(length);
+        plain = "\"" + content + "\"";
+        // Every eighth character is an escaped quote
+        escaped = "\"" + content.replaceAll("(.{7}).", "$1\\\\\"") + "\"";
+    }
+
+    @Benchmark
+    public String plain() throws ParseException {
+        return STRING.parse(new Block(plain));
+    }
+
+    @Benchmark
+    public String escaped() throws ParseException {
+        return STRING.parse(new Block(escaped));
+    }
+
+}
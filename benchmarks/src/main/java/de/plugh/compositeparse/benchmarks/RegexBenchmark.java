@@ -0,0 +1,95 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.StringInput;
+import de.plugh.compositeparse.parsers.CharClass;
+import de.plugh.compositeparse.parsers.Expression;
+import de.plugh.compositeparse.parsers.TakeWhile1;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the cost of a single regex step of the XML parsers, which used to compile their regexes on every call.
+ * <p>
+ * Each token benchmark matches one of the regexes the XML parsers originally used ({@code whitespace} between
+ * attributes, tag and attribute {@code name}s and {@code text} between tags) in four ways:
+ * <ul>
+ * <li>{@code compileEveryCall}: compiling the pattern for every match, like every step of the XML parsers did before</li>
+ * <li>{@code patternCache}: passing the regex as a string, so it is looked up in the
+ * {@link de.plugh.compositeparse.PatternCache}</li>
+ * <li>{@code precompiled}: an {@link Expression}, which compiles its pattern once</li>
+ * <li>{@code charClass}: a {@link TakeWhile1}, which the XML parsers use now</li>
+ * </ul>
+ * {@link DocumentParserBenchmark} measures what this means for a whole document.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegexBenchmark {
+
+    private static final CharClass NAME_START = CharClass.of(":_")
+            .union(CharClass.range('a', 'z'))
+            .union(CharClass.range('A', 'Z'));
+    private static final CharClass NAME_CHAR = NAME_START
+            .union(CharClass.DIGIT)
+            .union(CharClass.of(".-"));
+
+    @Param({"whitespace", "name", "text"})
+    public String token;
+
+    private String regex;
+    private String input;
+    private Expression expression;
+    private TakeWhile1 charClass;
+
+    @Setup
+    public void setup() {
+        switch (token) {
+            case "whitespace":
+                regex = "^\\s+";
+                input = "   href=\"...\"";
+                charClass = new TakeWhile1(CharClass.WHITESPACE);
+                break;
+            case "name":
+                regex = "^[:a-zA-Z_][:a-zA-Z0-9_.-]*";
+                input = "attribute-name=\"...\"";
+                charClass = new TakeWhile1(NAME_START, NAME_CHAR);
+                break;
+            case "text":
+                regex = "^[^<]+";
+                input = "some text between two tags</p>";
+                charClass = new TakeWhile1(CharClass.of("<").complement());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown token " + token);
+        }
+        expression = new Expression(regex);
+    }
+
+    @Benchmark
+    public String compileEveryCall() {
+        return new StringInput(input).match(Pattern.compile(regex));
+    }
+
+    @Benchmark
+    public String patternCache() {
+        return new StringInput(input).match(regex);
+    }
+
+    @Benchmark
+    public String precompiled() throws ParseException {
+        return expression.parse(new Block(input));
+    }
+
+    @Benchmark
+    public String charClass() throws ParseException {
+        return charClass.parse(new Block(input));
+    }
+
+}
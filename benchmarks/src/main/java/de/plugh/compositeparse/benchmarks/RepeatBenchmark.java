@@ -0,0 +1,49 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.Repeat;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.List;
+
+/**
+ * Parses a varying amount of elements with {@link Repeat}, with and without separators between them.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RepeatBenchmark {
+
+    private static final Literal<String> ELEMENT = Literal.literally("ab");
+    private static final Repeat<String> WITHOUT_SEPARATOR = new Repeat<>(ELEMENT);
+    private static final Repeat<String> WITH_SEPARATOR = new Repeat<>(Literal.literally(","), ELEMENT);
+
+    @Param({"16", "1024", "65536"})
+    public int count;
+
+    private String withoutSeparatorInput;
+    private String withSeparatorInput;
+
+    @Setup
+    public void setup() {
+        withoutSeparatorInput = Inputs.repeat("ab", count);
+        withSeparatorInput = Inputs.separated(count, "ab", ",");
+    }
+
+    @Benchmark
+    public List<String> withoutSeparator() throws ParseException {
+        return WITHOUT_SEPARATOR.parse(new Block(withoutSeparatorInput));
+    }
+
+    @Benchmark
+    public List<String> withSeparator() throws ParseException {
+        return WITH_SEPARATOR.parse(new Block(withSeparatorInput));
+    }
+
+}
@@ -0,0 +1,136 @@
+package de.plugh.compositeparse.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates the XML documents of {@link XmlThroughput}.
+ * <p>
+ * The documents only use the parts of XML that both {@link de.plugh.compositeparse.xml.DocumentParser} and the JDK's
+ * parsers understand the same way: no entities, no escapes in attribute values and comments on a single line. They
+ * only contain ASCII characters, so their length in characters is also their size in bytes.
+ * <p>
+ * The same shape, size and seed always produce the same document.
+ */
+final class XmlCorpus {
+
+    private static final String[] WORDS = {
+            "lorem", "ipsum", "dolor", "sit", "amet", "consectetur", "adipiscing", "elit", "sed", "do", "eiusmod",
+            "tempor", "incididunt", "ut", "labore", "et", "dolore", "magna", "aliqua", "enim", "ad", "minim", "veniam"
+    };
+
+    private static final int DEPTH = 64;
+    private static final int ATTRIBUTES = 16;
+
+    /**
+     * The kinds of documents.
+     */
+    enum Shape {
+        /**
+         * A root element with lots of small, flat records.
+         */
+        WIDE,
+        /**
+         * A root element with chains of {@value XmlCorpus#DEPTH} nested elements.
+         */
+        DEEP,
+        /**
+         * A root element with empty elements that have {@value XmlCorpus#ATTRIBUTES} attributes each.
+         */
+        ATTRIBUTES,
+        /**
+         * A root element with long paragraphs of text and comments in-between.
+         */
+        TEXT
+    }
+
+    private XmlCorpus() {
+    }
+
+    /**
+     * Generate a document. Elements are added until the document is at least the given size, so it may be slightly
+     * larger.
+     *
+     * @param shape the kind of document
+     * @param size  the size of the document in bytes
+     * @param seed  the seed of the random words and numbers
+     * @return the document
+     */
+    static String generate(Shape shape, int size, long seed) {
+        Random random = new Random(seed);
+        StringBuilder xml = new StringBuilder(size + 1024);
+        xml.append("<?xml version=\"1.0\"?>\n<root>\n");
+
+        int id = 0;
+        while (xml.length() < size) {
+            switch (shape) {
+                case WIDE:
+                    appendRecord(xml, random, id);
+                    break;
+                case DEEP:
+                    appendChain(xml, random);
+                    break;
+                case ATTRIBUTES:
+                    appendAttributes(xml, random, id);
+                    break;
+                case TEXT:
+                    appendParagraph(xml, random);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown shape " + shape);
+            }
+            id++;
+        }
+
+        xml.append("</root>\n");
+        return xml.toString();
+    }
+
+    private static void appendRecord(StringBuilder xml, Random random, int id) {
+        xml.append("  <item id=\"").append(id).append("\">")
+                .append("<name>").append(word(random)).append(word(random)).append("</name>")
+                .append("<value>").append(random.nextInt(1_000_000)).append("</value>")
+                .append("<flag/>")
+                .append("</item>\n");
+    }
+
+    private static void appendChain(StringBuilder xml, Random random) {
+        for (int depth = 0; depth < DEPTH; depth++) {
+            xml.append("<level depth=\"").append(depth).append("\">");
+        }
+        xml.append(word(random));
+        for (int depth = 0; depth < DEPTH; depth++) {
+            xml.append("</level>");
+        }
+        xml.append('\n');
+    }
+
+    private static void appendAttributes(StringBuilder xml, Random random, int id) {
+        xml.append("  <record id=\"").append(id).append('"');
+        for (int i = 0; i < ATTRIBUTES; i++) {
+            xml.append(" a").append(i).append("=\"").append(word(random)).append(' ').append(random.nextInt(1000))
+                    .append('"');
+        }
+        xml.append("/>\n");
+    }
+
+    private static void appendParagraph(StringBuilder xml, Random random) {
+        xml.append("  <!-- ").append(sentence(random, 8)).append(" -->\n");
+        xml.append("  <p>").append(sentence(random, 80 + random.nextInt(80))).append("</p>\n");
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(i % 12 == 0 ? ".\n    " : " ");
+            }
+            sentence.append(word(random));
+        }
+        return sentence.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+}
@@ -0,0 +1,57 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.BacktrackHeatMap;
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.Profiler;
+import de.plugh.compositeparse.parsers.EndOfInput;
+import de.plugh.compositeparse.xml.DocumentParser;
+
+import java.util.Locale;
+
+/**
+ * Profiles {@link DocumentParser} on an {@link XmlCorpus} document and prints the {@link Profiler}'s report, followed
+ * by the places where most parsers were reset according to a {@link BacktrackHeatMap}.
+ * <p>
+ * Run it from the benchmarks jar:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar de.plugh.compositeparse.benchmarks.XmlProfile [shape] [size] [text|json]
+ * </pre>
+ * The shape is one of {@code wide}, {@code deep}, {@code attributes} and {@code text} (default {@code wide}), and the
+ * size is in bytes (default 1 MB). The document is parsed once without profiling first, so that the numbers aren't
+ * dominated by the JIT compiler.
+ */
+public final class XmlProfile {
+
+    private XmlProfile() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        XmlCorpus.Shape shape = XmlCorpus.Shape.valueOf(args.length > 0 ? args[0].toUpperCase(Locale.ROOT) : "WIDE");
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 20;
+        boolean json = args.length > 2 && args[2].equals("json");
+
+        String xml = XmlCorpus.generate(shape, size, 42);
+        DocumentParser parser = new DocumentParser();
+        EndOfInput<Void> end = new EndOfInput<>();
+
+        Block warmup = new Block(xml);
+        parser.parse(warmup);
+        end.parse(warmup);
+
+        Profiler profiler = new Profiler();
+        BacktrackHeatMap heatMap = new BacktrackHeatMap();
+        Block block = new Block(xml);
+        block.setProfiler(profiler);
+        block.setBacktrackHeatMap(heatMap);
+        parser.parse(block);
+        end.parse(block);
+
+        if (json) {
+            System.out.println(profiler.toJson());
+        } else {
+            System.out.println(profiler.toText());
+            System.out.print(heatMap.toText(10));
+        }
+    }
+
+}
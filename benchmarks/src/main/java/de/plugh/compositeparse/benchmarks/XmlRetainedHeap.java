@@ -0,0 +1,105 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.xml.DocumentParser;
+import de.plugh.compositeparse.xml.XmlHandler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures how much heap {@link DocumentParser} keeps alive while it parses, apart from the document itself.
+ * <p>
+ * The document is parsed in event mode, so no nodes are built and everything that is retained belongs to the parse
+ * itself (mostly {@link Block}s). When a quarter, half, three quarters and all of the elements have been started, the
+ * handler collects the garbage and samples the used heap. The heap used once the parse is over, with only the document
+ * left, is subtracted from the samples. Since blocks are only kept while their naming scheme might need them, the
+ * retained heap should stay about the same throughout a document and for all document sizes, instead of growing with
+ * the amount of input parsed so far. Single samples can still be off by about a megabyte, since the JVM doesn't always
+ * free everything on {@link System#gc()}.
+ * <p>
+ * Run it from the benchmarks jar:
+ * <pre>
+ * java -Xmx2g -cp benchmarks/target/benchmarks.jar de.plugh.compositeparse.benchmarks.XmlRetainedHeap [sizes...]
+ * </pre>
+ * The sizes are in bytes (default 1, 10 and 50 MB).
+ */
+public final class XmlRetainedHeap {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private XmlRetainedHeap() {
+    }
+
+    public static void main(String[] args) throws ParseException {
+        int[] sizes = {1 << 20, 10 << 20, 50 << 20};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        // Load and initialise everything first, so that it doesn't count towards the first document
+        measure(XmlCorpus.Shape.WIDE, 1 << 16);
+
+        System.out.printf("%-10s %10s %12s %12s %12s %12s%n", "shape", "size", "25% MB", "50% MB", "75% MB", "100% MB");
+        for (XmlCorpus.Shape shape : XmlCorpus.Shape.values()) {
+            for (int size : sizes) {
+                double[] retained = measure(shape, size);
+                System.out.printf(Locale.ROOT, "%-10s %10d %12.3f %12.3f %12.3f %12.3f%n",
+                        shape.name().toLowerCase(Locale.ROOT), size, retained[0], retained[1], retained[2],
+                        retained[3]);
+            }
+        }
+    }
+
+    private static double[] measure(XmlCorpus.Shape shape, int size) throws ParseException {
+        // Generated here so that no frame of main keeps the previous document alive
+        String xml = XmlCorpus.generate(shape, size, 42);
+
+        long[] elements = new long[1];
+        new DocumentParser(new XmlHandler() {
+            @Override
+            public void startElement(String name, Map<String, String> attributes) {
+                elements[0]++;
+            }
+        }).parse(new Block(xml));
+
+        long total = elements[0];
+        long[] used = new long[4];
+
+        new DocumentParser(new XmlHandler() {
+            private long started;
+            private int sample;
+
+            @Override
+            public void startElement(String name, Map<String, String> attributes) {
+                started++;
+                if (sample < used.length && started >= total * (sample + 1) / used.length) {
+                    used[sample++] = usedAfterGc();
+                }
+            }
+        }).parse(new Block(xml));
+
+        // Only the document itself is left once the parse is over. Measuring this before the parse instead picks up
+        // whatever the previous document and the counting pass happened to leave behind.
+        long baseline = usedAfterGc();
+        double[] retained = new double[used.length];
+        for (int i = 0; i < used.length; i++) {
+            retained[i] = (used[i] - baseline) / 1e6;
+        }
+        return retained;
+    }
+
+    private static long usedAfterGc() {
+        // One collection doesn't always get rid of everything
+        System.gc();
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+}
@@ -0,0 +1,322 @@
+package de.plugh.compositeparse.benchmarks;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.EndOfInput;
+import de.plugh.compositeparse.xml.Document;
+import de.plugh.compositeparse.xml.DocumentParser;
+import de.plugh.compositeparse.xml.XmlHandler;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.StringReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares how fast {@link DocumentParser} parses whole documents with the JDK's SAX and StAX parsers.
+ * <p>
+ * Every parser reads the same {@link XmlCorpus} documents from memory. For each shape, size and parser, this prints the
+ * throughput, the peak heap usage above what was used before parsing, and the number and total duration of the garbage
+ * collections during parsing. Small documents are parsed repeatedly until at least {@link #MIN_DURATION_NANOS} have
+ * passed, so their throughput is an average. The peak heap includes garbage that wasn't collected yet, and since the
+ * peaks of the heap's memory pools are added up, it is an upper bound.
+ * <p>
+ * Run it from the benchmarks jar, giving the heap enough room for the largest documents:
+ * <pre>
+ * java -Xmx4g -cp benchmarks/target/benchmarks.jar de.plugh.compositeparse.benchmarks.XmlThroughput
+ * </pre>
+ * The options are (all of them optional):
+ * <ul>
+ * <li>{@code -shapes wide,deep,attributes,text}</li>
+ * <li>{@code -sizes 1K,64K,1M,16M,100M}</li>
+ * <li>{@code -parsers tree,events,sax,stax}</li>
+ * <li>{@code -warmups 2} and {@code -iterations 3}</li>
+ * <li>{@code -seed 42}</li>
+ * </ul>
+ */
+public final class XmlThroughput {
+
+    private static final long MIN_DURATION_NANOS = 500_000_000L;
+
+    private static final XmlHandler IGNORE = new XmlHandler() {
+    };
+
+    private static final DocumentParser TREE = new DocumentParser();
+    private static final DocumentParser EVENTS = new DocumentParser(IGNORE);
+    private static final EndOfInput<Void> END = new EndOfInput<>();
+
+    private static final SAXParserFactory SAX = SAXParserFactory.newInstance();
+    private static final XMLInputFactory STAX = XMLInputFactory.newInstance();
+
+    // Keeps the JIT from removing work whose results are never used
+    private static long sink;
+
+    /**
+     * The parsers being compared.
+     */
+    enum Contender {
+        /**
+         * {@link DocumentParser} building a {@link Document}.
+         */
+        TREE,
+        /**
+         * {@link DocumentParser} in event mode, with a handler that ignores all events.
+         */
+        EVENTS,
+        /**
+         * The JDK's SAX parser, with a handler that ignores all events.
+         */
+        SAX,
+        /**
+         * The JDK's StAX parser, reading all tokens.
+         */
+        STAX
+    }
+
+    private XmlThroughput() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<XmlCorpus.Shape> shapes = new ArrayList<>(Arrays.asList(XmlCorpus.Shape.values()));
+        List<Integer> sizes = new ArrayList<>(Arrays.asList(1 << 10, 64 << 10, 1 << 20, 16 << 20, 100 << 20));
+        List<Contender> contenders = new ArrayList<>(Arrays.asList(Contender.values()));
+        int warmups = 2;
+        int iterations = 3;
+        long seed = 42;
+
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "-shapes":
+                    shapes.clear();
+                    for (String shape : value.split(",")) {
+                        shapes.add(XmlCorpus.Shape.valueOf(shape.toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "-sizes":
+                    sizes.clear();
+                    for (String size : value.split(",")) {
+                        sizes.add(parseSize(size));
+                    }
+                    break;
+                case "-parsers":
+                    contenders.clear();
+                    for (String contender : value.split(",")) {
+                        contenders.add(Contender.valueOf(contender.toUpperCase(Locale.ROOT)));
+                    }
+                    break;
+                case "-warmups":
+                    warmups = Integer.parseInt(value);
+                    break;
+                case "-iterations":
+                    iterations = Integer.parseInt(value);
+                    break;
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        System.out.printf("%-10s %10s %-8s %10s %12s %8s %10s%n", "shape", "size", "parser", "MB/s", "peak heap MB",
+                "GCs", "GC ms");
+
+        for (XmlCorpus.Shape shape : shapes) {
+            for (int size : sizes) {
+                String xml = XmlCorpus.generate(shape, size, seed);
+                checkAgreement(xml);
+
+                for (Contender contender : contenders) {
+                    System.out.printf("%-10s %10s %-8s %s%n", shape.name().toLowerCase(Locale.ROOT),
+                            formatSize(size), contender.name().toLowerCase(Locale.ROOT),
+                            measure(contender, xml, warmups, iterations));
+                }
+            }
+        }
+    }
+
+    /**
+     * Parse a document with one parser, first a few times to warm up and then a few times while measuring.
+     *
+     * @return the formatted results
+     */
+    private static String measure(Contender contender, String xml, int warmups, int iterations) throws Exception {
+        try {
+            for (int i = 0; i < warmups; i++) {
+                parseFor(contender, xml, MIN_DURATION_NANOS);
+            }
+
+            System.gc();
+            List<MemoryPoolMXBean> pools = heapPools();
+            long before = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                pool.resetPeakUsage();
+                before += pool.getUsage().getUsed();
+            }
+            long gcCountBefore = gcCount();
+            long gcTimeBefore = gcTime();
+
+            long chars = 0;
+            long nanos = 0;
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                chars += parseFor(contender, xml, MIN_DURATION_NANOS);
+                nanos += System.nanoTime() - start;
+            }
+
+            long peak = 0;
+            for (MemoryPoolMXBean pool : pools) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+
+            // The documents are ASCII, so every character is a byte
+            double megabytesPerSecond = (chars / 1e6) / (nanos / 1e9);
+            return String.format(Locale.ROOT, "%10.2f %12.1f %8d %10d", megabytesPerSecond,
+                    Math.max(0, peak - before) / 1e6, gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+        } catch (OutOfMemoryError | StackOverflowError e) {
+            return String.format(Locale.ROOT, "%10s", e.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * Parse a document until at least the given time has passed.
+     *
+     * @return how many characters were parsed
+     */
+    private static long parseFor(Contender contender, String xml, long minNanos) throws Exception {
+        long chars = 0;
+        long start = System.nanoTime();
+        do {
+            parse(contender, xml);
+            chars += xml.length();
+        } while (System.nanoTime() - start < minNanos);
+        return chars;
+    }
+
+    private static void parse(Contender contender, String xml) throws Exception {
+        switch (contender) {
+            case TREE: {
+                Block block = new Block(xml);
+                Document document = TREE.parse(block);
+                END.parse(block);
+                sink += document.hashCode();
+                break;
+            }
+            case EVENTS: {
+                Block block = new Block(xml);
+                EVENTS.parse(block);
+                END.parse(block);
+                break;
+            }
+            case SAX: {
+                SAXParser parser = SAX.newSAXParser();
+                parser.parse(new InputSource(new StringReader(xml)), new DefaultHandler());
+                break;
+            }
+            case STAX: {
+                XMLStreamReader reader = STAX.createXMLStreamReader(new StringReader(xml));
+                while (reader.hasNext()) {
+                    sink += reader.next();
+                }
+                reader.close();
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown parser " + contender);
+        }
+    }
+
+    /**
+     * Make sure that {@link DocumentParser} and SAX see the same elements, so that they are compared on equal terms.
+     */
+    private static void checkAgreement(String xml) throws Exception {
+        long[] ours = new long[1];
+        DocumentParser counting = new DocumentParser(new XmlHandler() {
+            @Override
+            public void startElement(String name, Map<String, String> attributes) {
+                ours[0] += name.hashCode() + attributes.size();
+            }
+        });
+        Block block = new Block(xml);
+        try {
+            counting.parse(block);
+            END.parse(block);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Generated document can't be parsed: " + e.getMessage(), e);
+        }
+
+        long[] theirs = new long[1];
+        SAX.newSAXParser().parse(new InputSource(new StringReader(xml)), new DefaultHandler() {
+            @Override
+            public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                theirs[0] += qName.hashCode() + attributes.getLength();
+            }
+        });
+
+        if (ours[0] != theirs[0]) {
+            throw new IllegalStateException("DocumentParser and SAX disagree about the generated document");
+        }
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    private static int parseSize(String size) {
+        String upper = size.trim().toUpperCase(Locale.ROOT);
+        if (upper.endsWith("K")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 1)) << 10;
+        } else if (upper.endsWith("M")) {
+            return Integer.parseInt(upper.substring(0, upper.length() - 1)) << 20;
+        } else {
+            return Integer.parseInt(upper);
+        }
+    }
+
+    private static String formatSize(int size) {
+        if (size % (1 << 20) == 0) {
+            return (size >> 20) + "M";
+        } else if (size % (1 << 10) == 0) {
+            return (size >> 10) + "K";
+        } else {
+            return String.valueOf(size);
+        }
+    }
+
+}
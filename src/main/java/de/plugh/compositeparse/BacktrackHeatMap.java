@@ -0,0 +1,177 @@
+package de.plugh.compositeparse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link BacktrackHeatMap} records where in the input parsers fail and have their cursor reset, to find the parts of
+ * the input that make the parse slow.
+ * <p>
+ * While a {@link Profiler} shows which parsers do too much work, this shows which input makes them do it. To record a
+ * parse, pass a {@link BacktrackHeatMap} to {@link Block#setBacktrackHeatMap(BacktrackHeatMap)} of its top-level
+ * {@link Block} before parsing. From then on, each call to {@link Block#resetCursor()} that actually moves the cursor
+ * back is counted at the block's initial cursor position, and each such call to {@link Block#rewind(int)} at the
+ * position it rewinds to, together with how many characters the cursor was moved back. Resets of parsers that failed
+ * without consuming anything are not counted, just like the backtracks of a {@link Profiler}. Positions can be grouped
+ * into buckets of multiple characters, so that the heat map stays small for large inputs.
+ * <p>
+ * When a failure resets nested blocks that started at different positions, each of them moves the cursor further back
+ * and counts on its own, so a single failed attempt can count more than once.
+ * <p>
+ * Parses without a heat map only pay for a null check per backtrack. A {@link BacktrackHeatMap}
+ * can be used for multiple parses of the same input one after the other, and then adds up their numbers. It must not
+ * be used by multiple threads at once.
+ */
+public class BacktrackHeatMap {
+
+    private final int bucketSize;
+    private final Map<Integer, Hotspot> buckets = new HashMap<>();
+
+    /**
+     * The numbers recorded for one bucket.
+     */
+    public static class Hotspot {
+
+        private final int offset;
+        private final String context;
+        private long resets;
+        private long charsRewound;
+
+        Hotspot(int offset, String context) {
+            this.offset = offset;
+            this.context = context;
+        }
+
+        /**
+         * @return the first position in the input where a reset was recorded for this bucket
+         */
+        public int getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return a few characters from before and after {@link #getOffset()}, with a "|" at the position itself
+         */
+        public String getContext() {
+            return context;
+        }
+
+        /**
+         * @return how often the cursor was moved back to a position in this bucket
+         */
+        public long getResets() {
+            return resets;
+        }
+
+        /**
+         * @return how many characters the cursor was moved back by those resets in total
+         */
+        public long getCharsRewound() {
+            return charsRewound;
+        }
+
+    }
+
+    /**
+     * Create a new {@link BacktrackHeatMap} that groups positions into buckets.
+     *
+     * @param bucketSize how many consecutive positions are counted together
+     */
+    public BacktrackHeatMap(int bucketSize) {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException("Bucket size " + bucketSize + " is less than 1");
+        }
+        this.bucketSize = bucketSize;
+    }
+
+    /**
+     * Create a new {@link BacktrackHeatMap} that counts every position on its own.
+     */
+    public BacktrackHeatMap() {
+        this(1);
+    }
+
+    /**
+     * Called by {@link Block#rewind(int)} (and thus {@link Block#resetCursor()}) before the cursor is moved back.
+     */
+    void record(Block block, int offset) {
+        Hotspot hotspot = buckets.get(offset / bucketSize);
+        if (hotspot == null) {
+            hotspot = new Hotspot(offset, block.getSurroundingContext(offset));
+            buckets.put(offset / bucketSize, hotspot);
+        }
+
+        hotspot.resets++;
+        hotspot.charsRewound += Math.max(0, block.getInput().getCursor() - offset);
+    }
+
+    /**
+     * @return how many consecutive positions are counted together
+     */
+    public int getBucketSize() {
+        return bucketSize;
+    }
+
+    /**
+     * @param k how many buckets to return at most
+     * @return the buckets with the most resets, the one with the most first
+     */
+    public List<Hotspot> getHottest(int k) {
+        List<Hotspot> result = new ArrayList<>(buckets.values());
+        result.sort(Comparator.comparingLong(Hotspot::getResets).reversed()
+                .thenComparing(Comparator.comparingLong(Hotspot::getCharsRewound).reversed())
+                .thenComparingInt(Hotspot::getOffset));
+        return new ArrayList<>(result.subList(0, Math.min(k, result.size())));
+    }
+
+    /**
+     * @return how often the cursor was moved back anywhere
+     */
+    public long getTotalResets() {
+        long total = 0;
+        for (Hotspot hotspot : buckets.values()) {
+            total += hotspot.resets;
+        }
+        return total;
+    }
+
+    /**
+     * Forget everything recorded so far.
+     */
+    public void clear() {
+        buckets.clear();
+    }
+
+    /**
+     * @param k how many buckets to list at most
+     * @return the buckets with the most resets as a table, the one with the most first
+     */
+    public String toText(int k) {
+        StringBuilder result = new StringBuilder();
+        result.append(String.format(Locale.ROOT, "%12s %12s %12s  %s%n", "offset", "resets", "rewound", "context"));
+        for (Hotspot hotspot : getHottest(k)) {
+            result.append(String.format(Locale.ROOT, "%12d %12d %12d  %s%n", hotspot.offset, hotspot.resets,
+                    hotspot.charsRewound, escape(hotspot.context)));
+        }
+        return result.toString();
+    }
+
+    private static String escape(String context) {
+        // Keep every hotspot on a single line
+        return context.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t");
+    }
+
+    @Override
+    public String toString() {
+        return "BacktrackHeatMap{" +
+                "bucketSize=" + bucketSize +
+                ", buckets=" + buckets.size() +
+                ", resets=" + getTotalResets() +
+                '}';
+    }
+
+}
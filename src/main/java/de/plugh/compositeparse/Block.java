@@ -1,8 +1,10 @@
 package de.plugh.compositeparse;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -18,21 +20,38 @@ import java.util.stream.Collectors;
  * <p>
  * In addition to that, each {@link Block} remembers a naming scheme that operates on the {@link Block}'s sub-blocks.
  * This naming scheme is used to create a useful error message when a {@link ParseException} is thrown.
+ * <p>
+ * Sub-blocks are only kept as long as the naming scheme might need them. With {@link #label(String)}, no sub-blocks are
+ * kept at all, and with the default naming scheme of {@link Parser}, only the first one is kept. This way, the
+ * {@link Block} tree of a long, successful parse doesn't keep growing with the input.
  */
 public class Block {
 
     private static final int CONTEXT_LOOKBACK = 24;
+
+    /*
+     * The naming scheme Parser uses by default. It is kept in a constant so that
+     * blocks can recognise it and only keep the sub-block it actually uses.
+     */
+    static final Function<List<Block>, String> FIRST = Block::first;
+
     private final int initialCursor;
     private List<Block> subblocks;
     private Function<List<Block>, String> namingScheme;
-    private StringInput input;
+    private Input input;
+    private final ParseState state;
+    private final long id;
+    private Profiler.Entry profile; // only set while profiling
 
-    private Block(Function<List<Block>, String> namingScheme, StringInput input) {
-        subblocks = new ArrayList<>();
+    private Block(Function<List<Block>, String> namingScheme, Input input, ParseState state) {
+        subblocks = Collections.emptyList();
         this.namingScheme = namingScheme;
 
         this.input = input;
         initialCursor = input.getCursor();
+
+        this.state = state;
+        id = state.nextBlockId();
     }
 
     /**
@@ -41,7 +60,16 @@ public class Block {
      * @param text the input {@link String}
      */
     public Block(String text) {
-        this(Block::alternative, new StringInput(text));
+        this(new StringInput(text));
+    }
+
+    /**
+     * Create a top-level block from an {@link Input}, starting at the input's current cursor position.
+     *
+     * @param input the {@link Input}
+     */
+    public Block(Input input) {
+        this(Block::alternative, input, new ParseState());
     }
 
     /**
@@ -51,7 +79,7 @@ public class Block {
      * @param namingScheme the naming scheme to use for {@link #getName()}
      */
     Block(Block superblock, Function<List<Block>, String> namingScheme) {
-        this(namingScheme, superblock.input);
+        this(namingScheme, superblock.input, superblock.state);
 
         superblock.register(this);
     }
@@ -95,20 +123,155 @@ public class Block {
      * @return the name
      */
     public static Function<List<Block>, String> label(String name) {
-        return ignored -> name;
+        return new ConstantName(name);
     }
 
     private void register(Block subblock) {
+        // Don't keep sub-blocks that the naming scheme will never look at
+        if (namingScheme instanceof ConstantName) {
+            return;
+        }
+        if (namingScheme == FIRST && !subblocks.isEmpty()) {
+            return;
+        }
+
+        if (subblocks.isEmpty()) {
+            subblocks = new ArrayList<>();
+        }
         subblocks.add(subblock);
     }
 
     /**
-     * @return the input {@link StringInput}
+     * Create the block for a single call to a parser (see {@link Parser#parse(Block)}). Afterwards, exactly one of
+     * {@link #succeeded()} and {@link #failed()} must be called on the new block.
+     *
+     * @param parser the parser that is called
+     * @return the new sub-block
+     */
+    Block enter(Parser<?> parser) {
+        Block subblock = new Block(this, parser.getNamingScheme());
+        if (state.profiler != null) {
+            state.profiler.enter(parser, subblock);
+        }
+        return subblock;
+    }
+
+    /**
+     * Called when the parse this block represents has succeeded.
+     */
+    void succeeded() {
+        if (state.profiler != null) {
+            state.profiler.exit(this, true);
+        }
+    }
+
+    /**
+     * Called when the parse this block represents has failed, before the exception is passed on. Resets the cursor.
      */
-    public StringInput getInput() {
+    void failed() {
+        if (state.profiler != null) {
+            state.profiler.exit(this, false);
+        }
+        if (namingScheme instanceof ConstantName) {
+            state.furthestFailure.record(this);
+        }
+        resetCursor();
+    }
+
+    /**
+     * @return the input {@link Input}
+     */
+    public Input getInput() {
         return input;
     }
 
+    /**
+     * @return the input's cursor position when this block was created
+     */
+    public int getInitialCursor() {
+        return initialCursor;
+    }
+
+    /**
+     * @return a number that is greater than those of all blocks created earlier in the same top-level parse
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * @return the furthest failure of the top-level parse this block is part of
+     */
+    public FurthestFailure getFurthestFailure() {
+        return state.furthestFailure;
+    }
+
+    /**
+     * @return the profiler of the top-level parse this block is part of, or null if it isn't profiled
+     */
+    public Profiler getProfiler() {
+        return state.profiler;
+    }
+
+    /**
+     * Profile all parsers that are called from now on in the top-level parse this block is part of (see
+     * {@link Profiler}). This is usually called on the top-level block before parsing.
+     *
+     * @param profiler the profiler, or null to stop profiling
+     */
+    public void setProfiler(Profiler profiler) {
+        state.profiler = profiler;
+    }
+
+    /**
+     * @return the heat map of the top-level parse this block is part of, or null if it isn't recorded
+     */
+    public BacktrackHeatMap getBacktrackHeatMap() {
+        return state.heatMap;
+    }
+
+    /**
+     * Record where blocks are reset from now on in the top-level parse this block is part of (see
+     * {@link BacktrackHeatMap}). This is usually called on the top-level block before parsing.
+     *
+     * @param heatMap the heat map, or null to stop recording
+     */
+    public void setBacktrackHeatMap(BacktrackHeatMap heatMap) {
+        state.heatMap = heatMap;
+    }
+
+    void setProfile(Profiler.Entry profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * @return the name given by a {@link #label(String)} naming scheme, or null if the naming scheme is a different one
+     */
+    String getLabel() {
+        return namingScheme instanceof ConstantName ? ((ConstantName) namingScheme).name : null;
+    }
+
+    /**
+     * Get a value that is shared by all blocks of the same top-level parse, creating it first if necessary.
+     * <p>
+     * This allows parsers to keep state (like caches) for the duration of a single parse without storing it in the
+     * parser itself, so that the parser can still be reused.
+     *
+     * @param <V>     the value's type
+     * @param key     the key identifying the value
+     * @param initial creates the value if there is none for the key yet
+     * @return the value
+     */
+    @SuppressWarnings("unchecked") // The caller is responsible for using each key with one type only.
+    public <V> V getParseLocal(Object key, Supplier<V> initial) {
+        Object value = state.getLocal(key);
+        if (value == null) {
+            value = initial.get();
+            state.setLocal(key, value);
+        }
+        return (V) value;
+    }
+
     /**
      * @return the name
      */
@@ -117,10 +280,29 @@ public class Block {
     }
 
     /**
-     * Reset the input {@link StringInput}'s cursor to this block's initial cursor position
+     * Reset the input {@link Input}'s cursor to this block's initial cursor position
      */
     public void resetCursor() {
-        input.setCursor(initialCursor);
+        rewind(initialCursor);
+    }
+
+    /**
+     * Move the input {@link Input}'s cursor back to an earlier position, e. g. to undo a separator that was not
+     * followed by another element. Unlike calling {@link Input#setCursor(int)} directly, this is recorded by a
+     * {@link Profiler} and a {@link BacktrackHeatMap}, just like {@link #resetCursor()}.
+     *
+     * @param position the new cursor position, which must not be before this block's initial cursor position
+     */
+    public void rewind(int position) {
+        if (input.getCursor() != position) {
+            if (state.heatMap != null) {
+                state.heatMap.record(this, position);
+            }
+            if (profile != null) {
+                profile.backtracked();
+            }
+            input.setCursor(position);
+        }
     }
 
     /**
@@ -129,7 +311,12 @@ public class Block {
     public String getContext() {
         int currentCursor = input.getCursor();
 
-        input.setCursor(initialCursor);
+        try {
+            input.setCursor(initialCursor);
+        } catch (IllegalStateException e) {
+            // The input already dropped that part (see ReaderInput)
+            return "...";
+        }
         String context = input.look(-CONTEXT_LOOKBACK);
 
         input.setCursor(currentCursor);
@@ -137,4 +324,43 @@ public class Block {
         return "..." + context;
     }
 
+    /**
+     * @param position a position in the input
+     * @return a few characters from before and after that position, with a "|" in-between
+     */
+    String getSurroundingContext(int position) {
+        int currentCursor = input.getCursor();
+
+        try {
+            input.setCursor(position);
+        } catch (IllegalStateException e) {
+            // The input already dropped that part (see ReaderInput)
+            return "...|...";
+        }
+        String before = input.look(-CONTEXT_LOOKBACK);
+        String after = input.look(CONTEXT_LOOKBACK);
+
+        input.setCursor(currentCursor);
+
+        return "..." + before + "|" + after + "...";
+    }
+
+    /**
+     * The naming scheme returned by {@link #label(String)}.
+     */
+    private static class ConstantName implements Function<List<Block>, String> {
+
+        private final String name;
+
+        ConstantName(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String apply(List<Block> ignored) {
+            return name;
+        }
+
+    }
+
 }
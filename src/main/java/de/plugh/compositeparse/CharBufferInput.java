@@ -0,0 +1,24 @@
+package de.plugh.compositeparse;
+
+import java.nio.CharBuffer;
+
+/**
+ * The {@link CharBufferInput} consists of a {@link CharBuffer} and a cursor position on that {@link CharBuffer}.
+ * <p>
+ * Only the characters between the buffer's position and its limit (at the time the {@link CharBufferInput} is created)
+ * are part of the input. The content is not copied, so the buffer's content must not change while it is being parsed.
+ * Its position and limit, on the other hand, may be changed freely.
+ */
+public class CharBufferInput extends CharSequenceInput {
+
+    /**
+     * Create a new {@link CharBufferInput} over a {@link CharBuffer}.
+     *
+     * @param buffer the content of the reader
+     */
+    public CharBufferInput(CharBuffer buffer) {
+        // The slice shares the buffer's content, but has its own position and limit.
+        super(buffer.slice());
+    }
+
+}
@@ -0,0 +1,187 @@
+package de.plugh.compositeparse;
+
+import java.nio.CharBuffer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link CharSequenceInput} consists of a {@link CharSequence} and a cursor position on that {@link CharSequence}.
+ * <p>
+ * It provides a convenient way to view a {@link CharSequence} without copying it, in addition to a few useful
+ * functions. The {@link CharSequence} must not change while it is being parsed.
+ * <p>
+ * An input can also be restricted to a region of its {@link CharSequence} (see {@link #region(int, int)}). Cursor
+ * positions are still those of the whole {@link CharSequence}, but the cursor is clamped to the region, and the parsers
+ * can't see anything outside of it.
+ */
+public class CharSequenceInput implements Input {
+
+    private final CharSequence sequence;
+    private final int start;
+    private final int end;
+    private int cursor;
+
+    /**
+     * Create a new {@link CharSequenceInput} over a region of a {@link CharSequence}. The cursor starts at the
+     * beginning of the region.
+     *
+     * @param sequence the content of the reader
+     * @param start    the first position in the region
+     * @param end      the position after the last character in the region
+     */
+    public CharSequenceInput(CharSequence sequence, int start, int end) {
+        if (start < 0 || end > sequence.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + sequence.length());
+        }
+
+        this.sequence = sequence;
+        this.start = start;
+        this.end = end;
+        this.cursor = start;
+    }
+
+    /**
+     * Create a new {@link CharSequenceInput} over a {@link CharSequence}.
+     *
+     * @param sequence the content of the reader
+     */
+    public CharSequenceInput(CharSequence sequence) {
+        this(sequence, 0, sequence.length());
+    }
+
+    /**
+     * Create a new, independent input over a region of the same {@link CharSequence}. Its cursor starts at the
+     * beginning of the region.
+     * <p>
+     * If the {@link CharSequence} can safely be read from multiple threads at once (which all {@link CharSequence}s
+     * used by the inputs in this package can), the new input can be parsed on a different thread than this one.
+     *
+     * @param start the first position in the region (must be within this input's region)
+     * @param end   the position after the last character in the region (must be within this input's region)
+     * @return the new input
+     */
+    public CharSequenceInput region(int start, int end) {
+        if (start < this.start || end > this.end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + " outside of region " + this.start
+                    + " to " + this.end);
+        }
+        return new CharSequenceInput(sequence, start, end);
+    }
+
+    /**
+     * @return the first position this input's cursor can have
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * @return the last position this input's cursor can have (after the last character)
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    private int clampCursor(int position, int delta) {
+        /*
+         * A cursor can have position sequence.length() because its position is
+         * interpreted as between the characters, not on the characters, similar to
+         * python's slicing.
+         *
+         * Examples, using "|" as the cursor position and "aabc" as the string:
+         *
+         * |aabc - The cursor is in position 0.
+         *
+         * aab|c - The cursor is in position 3.
+         *
+         * aabc| - The cursor is in position 4.
+         */
+
+        /*
+         * This prevents an overflow/underflow if somebody tries to look(), read() or
+         * move() with Integer.MIN_VALUE or Integer.MAX_VALUE (like I did while testing
+         * this).
+         */
+        int minDelta = start - position;
+        int maxDelta = end - position;
+        return position + Math.max(minDelta, Math.min(maxDelta, delta));
+    }
+
+    @Override
+    public int getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public void setCursor(int cursor) {
+        this.cursor = clampCursor(cursor, 0);
+    }
+
+    @Override
+    public void move(int amount) {
+        setCursor(clampCursor(getCursor(), amount));
+    }
+
+    @Override
+    public String look(int amount) {
+        if (amount >= 0) {
+            return sequence.subSequence(cursor, clampCursor(cursor, amount)).toString();
+        } else {
+            return sequence.subSequence(clampCursor(cursor, amount), cursor).toString();
+        }
+    }
+
+    @Override
+    public int peek(int offset) {
+        long position = (long) cursor + offset;
+        if (position < start || position >= end) {
+            return -1;
+        }
+        return sequence.charAt((int) position);
+    }
+
+    @Override
+    public CharSequence lookView(int amount) {
+        if (amount >= 0) {
+            return CharBuffer.wrap(sequence, cursor, clampCursor(cursor, amount));
+        } else {
+            return CharBuffer.wrap(sequence, clampCursor(cursor, amount), cursor);
+        }
+    }
+
+    @Override
+    public String match(Pattern pattern) {
+        Matcher matcher = matcher(pattern);
+        if (matcher.find()) {
+            return read(matcher.end() - cursor);
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public String matchHere(Pattern pattern) {
+        Matcher matcher = matcher(pattern);
+        if (matcher.lookingAt()) {
+            return read(matcher.end() - cursor);
+        } else {
+            return null;
+        }
+    }
+
+    private Matcher matcher(Pattern pattern) {
+        /*
+         * Instead of matching against a copy of the rest of the input, the matcher
+         * is restricted to the region starting at the cursor. With the default
+         * (anchoring, opaque) bounds, the region behaves exactly like a substring
+         * would: ^ matches at the cursor and lookbehinds can't see past it.
+         */
+        return pattern.matcher(sequence).region(cursor, end);
+    }
+
+    @Override
+    public boolean complete() {
+        return cursor >= end;
+    }
+
+}
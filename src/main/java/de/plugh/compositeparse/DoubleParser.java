@@ -0,0 +1,71 @@
+package de.plugh.compositeparse;
+
+/**
+ * A {@link Parser} that returns a primitive {@code double}.
+ * <p>
+ * Calling {@link #parseDouble(Block)} instead of {@link #parse(Block)} avoids boxing the result, which matters when
+ * parsing lots of numbers (see e. g. {@link de.plugh.compositeparse.parsers.RepeatDouble}). Since every {@link DoubleParser}
+ * is also a {@link Parser}&lt;{@link Double}&gt;, it can be used wherever a normal parser is expected.
+ */
+@FunctionalInterface
+public interface DoubleParser extends Parser<Double> {
+
+    /**
+     * Wrap a normal parser so it can be used where an {@link DoubleParser} is expected.
+     *
+     * @param parser the parser to wrap
+     * @return the parser itself if it already is an {@link DoubleParser}, otherwise a wrapper that unboxes its results
+     */
+    static DoubleParser unboxed(Parser<Double> parser) {
+        if (parser instanceof DoubleParser) {
+            return (DoubleParser) parser;
+        }
+        return new DoubleParser() {
+            @Override
+            public FirstSet getFirstSet() {
+                return parser.getFirstSet();
+            }
+
+            @Override
+            public double readDouble(Block block) throws ParseException {
+                return parser.parse(block);
+            }
+        };
+    }
+
+    /**
+     * Like {@link #parse(Block)}, but without boxing the result.
+     *
+     * @param block the calling parser's {@link Block}
+     * @return the information it parsed
+     * @throws ParseException if the input format was incorrect
+     */
+    default double parseDouble(Block block) throws ParseException {
+        Block subblock = block.enter(this);
+        try {
+            double result = readDouble(subblock);
+            subblock.succeeded();
+            return result;
+        } catch (ParseException e) {
+            subblock.failed();
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #read(Block)}, but without boxing the result.
+     * <p>
+     * <i>This is the function you usually want to overwrite.</i>
+     *
+     * @param block the calling parser's {@link Block}
+     * @return the information it parsed
+     * @throws ParseException if the input format was incorrect
+     */
+    double readDouble(Block block) throws ParseException;
+
+    @Override
+    default Double read(Block block) throws ParseException {
+        return readDouble(block);
+    }
+
+}
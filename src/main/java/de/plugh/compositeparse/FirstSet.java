@@ -0,0 +1,149 @@
+package de.plugh.compositeparse;
+
+/**
+ * A {@link FirstSet} describes which characters a {@link Parser} can start with, and whether it can succeed without
+ * consuming any input at all (whether it is "nullable").
+ * <p>
+ * ASCII characters are tracked individually. For all other characters, only a single flag is kept, which says whether
+ * the parser might start with any of them.
+ * <p>
+ * {@link FirstSet}s are used to skip alternatives that can't possibly succeed (see
+ * {@link de.plugh.compositeparse.parsers.Options}). They must therefore never be too small: If unsure, a parser should
+ * return {@link #UNKNOWN}, which allows everything.
+ */
+public final class FirstSet {
+
+    /**
+     * Anything is possible. This is what parsers return by default.
+     */
+    public static final FirstSet UNKNOWN = new FirstSet(-1L, -1L, true, true);
+
+    /**
+     * The parser never consumes any input.
+     */
+    public static final FirstSet NOTHING = new FirstSet(0L, 0L, false, true);
+
+    /**
+     * The parser never succeeds. This is mostly useful as a starting point for {@link #union(FirstSet)}.
+     */
+    public static final FirstSet NONE = new FirstSet(0L, 0L, false, false);
+
+    // Bit i of low (or high) is set if the parser can start with character i (or i + 64)
+    private final long low;
+    private final long high;
+    private final boolean other;
+    private final boolean nullable;
+
+    private FirstSet(long low, long high, boolean other, boolean nullable) {
+        this.low = low;
+        this.high = high;
+        this.other = other;
+        this.nullable = nullable;
+    }
+
+    /**
+     * @param chars the characters the parser can start with
+     * @return a {@link FirstSet} that is not nullable
+     */
+    public static FirstSet of(CharSequence chars) {
+        FirstSet result = NONE;
+        for (int i = 0; i < chars.length(); i++) {
+            result = result.union(range(chars.charAt(i), chars.charAt(i)));
+        }
+        return result;
+    }
+
+    /**
+     * @param from the first character the parser can start with
+     * @param to   the last character the parser can start with
+     * @return a {@link FirstSet} that is not nullable
+     */
+    public static FirstSet range(char from, char to) {
+        long low = 0;
+        long high = 0;
+        for (int c = from; c <= Math.min(to, 127); c++) {
+            if (c < 64) {
+                low |= 1L << c;
+            } else {
+                high |= 1L << (c - 64);
+            }
+        }
+        return new FirstSet(low, high, to >= 128, false);
+    }
+
+    /**
+     * @param literal a literal string the parser consumes
+     * @return the {@link FirstSet} of a parser that consumes that literal
+     */
+    public static FirstSet ofLiteral(String literal) {
+        if (literal.isEmpty()) {
+            return NOTHING;
+        }
+        return of(literal.substring(0, 1));
+    }
+
+    /**
+     * @param other another {@link FirstSet}
+     * @return a {@link FirstSet} allowing everything that either set allows
+     */
+    public FirstSet union(FirstSet other) {
+        return new FirstSet(low | other.low, high | other.high, this.other || other.other,
+                nullable || other.nullable);
+    }
+
+    /**
+     * @param next the {@link FirstSet} of the parser that runs right after this one
+     * @return the {@link FirstSet} of both parsers run one after the other
+     */
+    public FirstSet followedBy(FirstSet next) {
+        if (nullable) {
+            return new FirstSet(low | next.low, high | next.high, other || next.other, next.nullable);
+        } else {
+            return this;
+        }
+    }
+
+    /**
+     * @return the same {@link FirstSet}, but nullable
+     */
+    public FirstSet orNothing() {
+        return new FirstSet(low, high, other, true);
+    }
+
+    /**
+     * Since only a single flag is kept for all non-ASCII characters, a set that allows some of them might not allow all
+     * of them. The complement therefore allows all non-ASCII characters, so that it is never too small.
+     *
+     * @return a {@link FirstSet} allowing the ASCII characters this one doesn't allow and all other characters, which
+     * is not nullable
+     */
+    public FirstSet complement() {
+        return new FirstSet(~low, ~high, true, false);
+    }
+
+    /**
+     * @return whether the parser can succeed without consuming any input
+     */
+    public boolean isNullable() {
+        return nullable;
+    }
+
+    /**
+     * @param c a character, or -1 for the end of the input
+     * @return whether the parser could succeed if the rest of the input starts with that character
+     */
+    public boolean allows(int c) {
+        if (nullable) {
+            return true;
+        } else if (c < 0) {
+            return false;
+        } else if (c < 64) {
+            return (low & (1L << c)) != 0;
+        } else if (c < 128) {
+            return (high & (1L << (c - 64))) != 0;
+        } else {
+            return other;
+        }
+    }
+
+}
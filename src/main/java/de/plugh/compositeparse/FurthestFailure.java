@@ -0,0 +1,104 @@
+package de.plugh.compositeparse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link FurthestFailure} remembers the furthest position in the input where a parser failed, and what was expected
+ * there.
+ * <p>
+ * This is an alternative to the names computed by a {@link Block}'s naming scheme, similar to how megaparsec reports
+ * errors: Only parsers with a {@link Block#label(String)} naming scheme (which includes all parsers in the
+ * {@link de.plugh.compositeparse.parsers} package that consume input) are recorded. If such a parser fails at the
+ * furthest position, its name replaces the names of any of its own sub-parsers that failed at the same position, and is
+ * added to the names of all other parsers that failed there.
+ * <p>
+ * Parsers whose failure was recovered from (e. g. inside an {@link de.plugh.compositeparse.parsers.Options} or
+ * {@link de.plugh.compositeparse.parsers.Default}) are recorded too, since they show what else could have come at that
+ * position.
+ * <p>
+ * There is one {@link FurthestFailure} per top-level parse, and it is updated in (amortised) constant time whenever a
+ * parser fails. Its content keeps changing as the parse goes on.
+ */
+public class FurthestFailure {
+
+    private int offset = -1;
+    // Ordered by the time they failed, which means that sub-blocks of a block come last.
+    private final List<Block> blocks = new ArrayList<>();
+
+    FurthestFailure() {
+    }
+
+    void record(Block block) {
+        int blockOffset = block.getInitialCursor();
+        if (blockOffset < offset) {
+            return;
+        }
+
+        if (blockOffset > offset) {
+            offset = blockOffset;
+            blocks.clear();
+        }
+
+        /*
+         * All blocks that failed since this block was created are this block's
+         * sub-blocks, and all of them have a greater id than this block.
+         */
+        while (!blocks.isEmpty() && blocks.get(blocks.size() - 1).getId() > block.getId()) {
+            blocks.remove(blocks.size() - 1);
+        }
+
+        blocks.add(block);
+    }
+
+    /**
+     * @return whether any parser failed yet
+     */
+    public boolean isPresent() {
+        return offset >= 0;
+    }
+
+    /**
+     * @return the furthest position in the input where a parser failed (or -1, if no parser failed yet)
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the names of everything that was expected at the furthest position, without duplicates
+     */
+    public List<String> getExpected() {
+        Set<String> names = new LinkedHashSet<>();
+        blocks.forEach(block -> names.add(block.getName()));
+        return new ArrayList<>(names);
+    }
+
+    /**
+     * @return a few characters from before the furthest position
+     */
+    public String getContext() {
+        if (blocks.isEmpty()) {
+            return "...";
+        }
+        return blocks.get(0).getContext();
+    }
+
+    /**
+     * @return a message in the same format as {@link ParseException#getMessage()}
+     */
+    public String getMessage() {
+        return getContext() + "<- expected: " + String.join(" or ", getExpected());
+    }
+
+    @Override
+    public String toString() {
+        return "FurthestFailure{" +
+                "offset=" + offset +
+                ", expected=" + getExpected() +
+                '}';
+    }
+
+}
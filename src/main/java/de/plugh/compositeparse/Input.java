@@ -0,0 +1,138 @@
+package de.plugh.compositeparse;
+
+import java.util.regex.Pattern;
+
+/**
+ * An {@link Input} is a sequence of characters with a cursor position on that sequence. It is what {@link Parser}s
+ * read from.
+ * <p>
+ * The cursor position is interpreted as between the characters, not on the characters, similar to python's slicing. All
+ * operations clamp the cursor to the bounds of the input instead of failing. The only exception are positions that a
+ * {@link ReaderInput} already dropped after a {@link #commit()}.
+ * <p>
+ * Implementations exist for {@link String}s ({@link StringInput}), arbitrary {@link CharSequence}s
+ * ({@link CharSequenceInput}), {@link java.nio.CharBuffer}s ({@link CharBufferInput}), chunked text
+ * ({@link RopeInput}), memory-mapped files ({@link MappedFileInput}) and {@link java.io.Reader}s
+ * ({@link ReaderInput}).
+ */
+public interface Input {
+
+    /**
+     * @return the cursor position
+     */
+    int getCursor();
+
+    /**
+     * @param cursor the cursor position
+     */
+    void setCursor(int cursor);
+
+    /**
+     * Move the cursor a certain amount of characters relative to the cursor's current position. A positive amount moves
+     * forward (towards the end of the input), a negative moves backward (towards the beginning of the input).
+     *
+     * @param amount how many characters to move the cursor by
+     */
+    void move(int amount);
+
+    /**
+     * Read a certain amount of characters relative to the cursor's current position. A positive amount looks forward
+     * (towards the end of the input), a negative looks backward (towards the beginning of the input).
+     *
+     * @param amount how many characters to look up
+     * @return the specified section of the input
+     */
+    String look(int amount);
+
+    /**
+     * Look at a single character relative to the cursor's current position, without moving the cursor. This is the
+     * cheapest way to inspect the input, since nothing needs to be allocated.
+     *
+     * @param offset the character's position relative to the cursor (0 is the character right after the cursor)
+     * @return the character, or -1 if the position is outside of the input
+     */
+    int peek(int offset);
+
+    /**
+     * Like {@link #look(int)}, but returns a read-only view of the section instead of copying it into a new
+     * {@link String}.
+     *
+     * @param amount how many characters to look up
+     * @return a view of the specified section of the input
+     */
+    CharSequence lookView(int amount);
+
+    /**
+     * Combines a {@link #look(int)} and a {@link #move(int)} operation.
+     *
+     * @param amount how many characters to look up and move
+     * @return the specified section of the input
+     */
+    default String read(int amount) {
+        String result = look(amount);
+        move(amount);
+        return result;
+    }
+
+    /**
+     * Combines a {@link #lookView(int)} and a {@link #move(int)} operation.
+     *
+     * @param amount how many characters to look up and move
+     * @return a view of the specified section of the input
+     */
+    default CharSequence readView(int amount) {
+        CharSequence result = lookView(amount);
+        move(amount);
+        return result;
+    }
+
+    /**
+     * Match and {@link #read(int)} the regex passed, starting at the current cursor position.
+     * <p>
+     * This returns everything from the current cursor position to the end of the match that was found, so make sure to
+     * anchor your regexes (using ^) unless you need all of that.
+     * <p>
+     * The regex is compiled through the {@link PatternCache}. If you use the same regex over and over again, consider
+     * compiling it once and using {@link #match(Pattern)} instead.
+     *
+     * @param regex the regular expression to use
+     * @return the string matched (or null, if no match was found)
+     */
+    default String match(String regex) {
+        return match(PatternCache.get(regex));
+    }
+
+    /**
+     * Match and {@link #read(int)} the pattern passed, starting at the current cursor position.
+     *
+     * @param pattern the compiled regular expression to use
+     * @return the string matched (or null, if no match was found)
+     * @see #match(String)
+     */
+    String match(Pattern pattern);
+
+    /**
+     * Match and {@link #read(int)} the pattern passed, but only if the match starts exactly at the current cursor
+     * position. This behaves as if the pattern was anchored (using ^), so the caller doesn't need to anchor it.
+     *
+     * @param pattern the compiled regular expression to use
+     * @return the string matched (or null, if the pattern doesn't match at the cursor position)
+     */
+    String matchHere(Pattern pattern);
+
+    /**
+     * @return whether the whole input was consumed
+     */
+    boolean complete();
+
+    /**
+     * Declare that the cursor will never be reset to a position before the current cursor position again, i. e. that
+     * no backtracking past this point will happen.
+     * <p>
+     * Inputs that don't hold their whole content in memory (like {@link ReaderInput}) use this to release the part of
+     * the content before the current cursor position. All other inputs ignore it.
+     */
+    default void commit() {
+    }
+
+}
@@ -0,0 +1,71 @@
+package de.plugh.compositeparse;
+
+/**
+ * A {@link Parser} that returns a primitive {@code int}.
+ * <p>
+ * Calling {@link #parseInt(Block)} instead of {@link #parse(Block)} avoids boxing the result, which matters when
+ * parsing lots of numbers (see e. g. {@link de.plugh.compositeparse.parsers.RepeatInt}). Since every {@link IntParser}
+ * is also a {@link Parser}&lt;{@link Integer}&gt;, it can be used wherever a normal parser is expected.
+ */
+@FunctionalInterface
+public interface IntParser extends Parser<Integer> {
+
+    /**
+     * Wrap a normal parser so it can be used where an {@link IntParser} is expected.
+     *
+     * @param parser the parser to wrap
+     * @return the parser itself if it already is an {@link IntParser}, otherwise a wrapper that unboxes its results
+     */
+    static IntParser unboxed(Parser<Integer> parser) {
+        if (parser instanceof IntParser) {
+            return (IntParser) parser;
+        }
+        return new IntParser() {
+            @Override
+            public FirstSet getFirstSet() {
+                return parser.getFirstSet();
+            }
+
+            @Override
+            public int readInt(Block block) throws ParseException {
+                return parser.parse(block);
+            }
+        };
+    }
+
+    /**
+     * Like {@link #parse(Block)}, but without boxing the result.
+     *
+     * @param block the calling parser's {@link Block}
+     * @return the information it parsed
+     * @throws ParseException if the input format was incorrect
+     */
+    default int parseInt(Block block) throws ParseException {
+        Block subblock = block.enter(this);
+        try {
+            int result = readInt(subblock);
+            subblock.succeeded();
+            return result;
+        } catch (ParseException e) {
+            subblock.failed();
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #read(Block)}, but without boxing the result.
+     * <p>
+     * <i>This is the function you usually want to overwrite.</i>
+     *
+     * @param block the calling parser's {@link Block}
+     * @return the information it parsed
+     * @throws ParseException if the input format was incorrect
+     */
+    int readInt(Block block) throws ParseException;
+
+    @Override
+    default Integer read(Block block) throws ParseException {
+        return readInt(block);
+    }
+
+}
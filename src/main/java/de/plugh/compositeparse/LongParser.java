@@ -0,0 +1,71 @@
+package de.plugh.compositeparse;
+
+/**
+ * A {@link Parser} that returns a primitive {@code long}.
+ * <p>
+ * Calling {@link #parseLong(Block)} instead of {@link #parse(Block)} avoids boxing the result, which matters when
+ * parsing lots of numbers (see e. g. {@link de.plugh.compositeparse.parsers.RepeatLong}). Since every {@link LongParser}
+ * is also a {@link Parser}&lt;{@link Long}&gt;, it can be used wherever a normal parser is expected.
+ */
+@FunctionalInterface
+public interface LongParser extends Parser<Long> {
+
+    /**
+     * Wrap a normal parser so it can be used where an {@link LongParser} is expected.
+     *
+     * @param parser the parser to wrap
+     * @return the parser itself if it already is an {@link LongParser}, otherwise a wrapper that unboxes its results
+     */
+    static LongParser unboxed(Parser<Long> parser) {
+        if (parser instanceof LongParser) {
+            return (LongParser) parser;
+        }
+        return new LongParser() {
+            @Override
+            public FirstSet getFirstSet() {
+                return parser.getFirstSet();
+            }
+
+            @Override
+            public long readLong(Block block) throws ParseException {
+                return parser.parse(block);
+            }
+        };
+    }
+
+    /**
+     * Like {@link #parse(Block)}, but without boxing the result.
+     *
+     * @param block the calling parser's {@link Block}
+     * @return the information it parsed
+     * @throws ParseException if the input format was incorrect
+     */
+    default long parseLong(Block block) throws ParseException {
+        Block subblock = block.enter(this);
+        try {
+            long result = readLong(subblock);
+            subblock.succeeded();
+            return result;
+        } catch (ParseException e) {
+            subblock.failed();
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #read(Block)}, but without boxing the result.
+     * <p>
+     * <i>This is the function you usually want to overwrite.</i>
+     *
+     * @param block the calling parser's {@link Block}
+     * @return the information it parsed
+     * @throws ParseException if the input format was incorrect
+     */
+    long readLong(Block block) throws ParseException;
+
+    @Override
+    default Long read(Block block) throws ParseException {
+        return readLong(block);
+    }
+
+}
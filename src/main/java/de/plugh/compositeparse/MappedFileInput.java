@@ -0,0 +1,298 @@
+package de.plugh.compositeparse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The {@link MappedFileInput} consists of the content of a file and a cursor position on that content.
+ * <p>
+ * The file is memory-mapped instead of being read onto the heap, and decoded lazily in small chunks as the parsers
+ * access it. Only a handful of decoded chunks are kept at a time, so files that are a lot bigger than the heap can be
+ * parsed. Because the cursor is an {@code int}, the file may contain at most {@link Integer#MAX_VALUE} characters.
+ * <p>
+ * When the {@link MappedFileInput} is created, the whole file is decoded once to find out where each chunk starts. The
+ * file must not change while it is being parsed. Since chunks are decoded independently of each other, the charset
+ * must not carry state from one character to the next (UTF-8, ISO-8859-1 and UTF-16BE/LE are fine).
+ * <p>
+ * The decoded content may be read from multiple threads at once (see {@link #region(int, int)}).
+ */
+public class MappedFileInput extends CharSequenceInput {
+
+    /**
+     * Create a new {@link MappedFileInput} over a file.
+     *
+     * @param path    the file to read
+     * @param charset the file's encoding
+     * @throws IOException if the file could not be mapped
+     */
+    public MappedFileInput(Path path, Charset charset) throws IOException {
+        super(new MappedText(path, charset));
+    }
+
+    /**
+     * Create a new {@link MappedFileInput} over a UTF-8 encoded file.
+     *
+     * @param path the file to read
+     * @throws IOException if the file could not be mapped
+     */
+    public MappedFileInput(Path path) throws IOException {
+        this(path, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A {@link CharSequence} backed by a memory-mapped file.
+     */
+    private static class MappedText implements CharSequence {
+
+        // A single mapping can't be bigger than Integer.MAX_VALUE bytes
+        private static final int SEGMENT_BYTES = 1 << 30;
+        private static final int CHUNK_BYTES = 1 << 16;
+        private static final int CACHED_CHUNKS = 8;
+
+        private final Charset charset;
+        private final MappedByteBuffer[] segments;
+        private final long size;
+
+        /*
+         * Chunk i consists of the bytes from chunkBytes[i] to chunkBytes[i + 1], which
+         * decode to the characters from chunkChars[i] to chunkChars[i + 1]. Both
+         * arrays have one more element than there are chunks.
+         */
+        private long[] chunkBytes;
+        private int[] chunkChars;
+        private int chunkCount;
+
+        /*
+         * The cache may be used by multiple threads at once. Each decoded chunk is
+         * an immutable object, so a thread always sees a chunk's number together
+         * with the matching characters. At worst, a chunk is decoded twice.
+         */
+        private final Decoded[] cache = new Decoded[CACHED_CHUNKS];
+        private int nextCacheSlot;
+        private Decoded last;
+
+        MappedText(Path path, Charset charset) throws IOException {
+            this.charset = charset;
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                size = channel.size();
+
+                segments = new MappedByteBuffer[(int) ((size + SEGMENT_BYTES - 1) / SEGMENT_BYTES)];
+                for (int i = 0; i < segments.length; i++) {
+                    long start = (long) i * SEGMENT_BYTES;
+                    long length = Math.min(SEGMENT_BYTES, size - start);
+                    segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                }
+            }
+
+            index();
+        }
+
+        private CharsetDecoder decoder() {
+            // Behave like new String(bytes, charset) when encountering malformed input
+            return charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        private ByteBuffer bytes(long start, long end) {
+            int segment = (int) (start / SEGMENT_BYTES);
+            int offset = (int) (start % SEGMENT_BYTES);
+            int length = (int) (end - start);
+
+            if (offset + length <= SEGMENT_BYTES) {
+                return segments[segment].duplicate().position(offset).limit(offset + length).slice();
+            }
+
+            // The range crosses a segment boundary, which only happens rarely
+            byte[] copy = new byte[length];
+            int firstPart = SEGMENT_BYTES - offset;
+            segments[segment].duplicate().position(offset).get(copy, 0, firstPart);
+            segments[segment + 1].duplicate().position(0).get(copy, firstPart, length - firstPart);
+            return ByteBuffer.wrap(copy);
+        }
+
+        /**
+         * Decode a range of bytes. If the range ends in the middle of a character, that character is left over and
+         * the buffer's position is left in front of it.
+         */
+        private CharBuffer decode(ByteBuffer bytes, CharBuffer chars, boolean endOfInput) {
+            CharsetDecoder decoder = decoder();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            if (endOfInput && !result.isOverflow()) {
+                result = decoder.flush(chars);
+            }
+            if (result.isOverflow()) {
+                throw new IllegalStateException("Decoded chunk does not fit into its buffer");
+            }
+            return chars;
+        }
+
+        private void index() throws IOException {
+            chunkBytes = new long[16];
+            chunkChars = new int[16];
+
+            CharBuffer chars = CharBuffer.allocate(maxChars());
+            long byteOffset = 0;
+            long charOffset = 0;
+            int chunk = 0;
+
+            while (true) {
+                if (chunk + 1 >= chunkBytes.length) {
+                    chunkBytes = Arrays.copyOf(chunkBytes, chunkBytes.length * 2);
+                    chunkChars = Arrays.copyOf(chunkChars, chunkChars.length * 2);
+                }
+                chunkBytes[chunk] = byteOffset;
+                chunkChars[chunk] = (int) charOffset;
+
+                if (byteOffset >= size) {
+                    break;
+                }
+
+                long end = Math.min(byteOffset + CHUNK_BYTES, size);
+                ByteBuffer bytes = bytes(byteOffset, end);
+                chars.clear();
+                decode(bytes, chars, end == size);
+
+                int consumed = bytes.position();
+                if (consumed == 0) {
+                    // A single character is longer than a chunk, which no sane charset does
+                    throw new IOException("Could not decode file at byte " + byteOffset);
+                }
+                byteOffset += consumed;
+                charOffset += chars.position();
+                if (charOffset > Integer.MAX_VALUE) {
+                    throw new IOException("File contains more than " + Integer.MAX_VALUE + " characters");
+                }
+
+                chunk++;
+            }
+
+            chunkCount = chunk;
+        }
+
+        private int maxChars() {
+            // The extra bytes account for a character left over from the previous chunk
+            return (int) Math.ceil((CHUNK_BYTES + 8) * (double) charset.newDecoder().maxCharsPerByte()) + 8;
+        }
+
+        private int chunkAt(int index) {
+            Decoded decoded = last;
+            if (decoded != null && chunkChars[decoded.chunk] <= index && index < chunkChars[decoded.chunk + 1]) {
+                return decoded.chunk;
+            }
+
+            // Find the last chunk starting at or before the index, skipping empty chunks
+            int chunk = Arrays.binarySearch(chunkChars, 0, chunkCount, index);
+            if (chunk < 0) {
+                chunk = -chunk - 2;
+            }
+            while (chunkChars[chunk + 1] <= index) {
+                chunk++;
+            }
+            return chunk;
+        }
+
+        private char[] chars(int chunk) {
+            Decoded decoded = last;
+            if (decoded != null && decoded.chunk == chunk) {
+                return decoded.chars;
+            }
+
+            decoded = null;
+            for (Decoded cached : cache) {
+                if (cached != null && cached.chunk == chunk) {
+                    decoded = cached;
+                    break;
+                }
+            }
+
+            if (decoded == null) {
+                long end = chunkBytes[chunk + 1];
+                CharBuffer buffer = CharBuffer.allocate(chunkChars[chunk + 1] - chunkChars[chunk] + 8);
+                decode(bytes(chunkBytes[chunk], end), buffer, end == size);
+
+                // Each decoded chunk gets its own array, so views handed out earlier stay valid
+                char[] chars = Arrays.copyOf(buffer.array(), chunkChars[chunk + 1] - chunkChars[chunk]);
+                decoded = new Decoded(chunk, chars);
+
+                int slot = nextCacheSlot;
+                cache[slot] = decoded;
+                nextCacheSlot = (slot + 1) % CACHED_CHUNKS;
+            }
+
+            last = decoded;
+            return decoded.chars;
+        }
+
+        @Override
+        public int length() {
+            return chunkChars[chunkCount];
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length());
+            }
+
+            int chunk = chunkAt(index);
+            return chars(chunk)[index - chunkChars[chunk]];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+            }
+
+            if (start == end) {
+                return "";
+            }
+
+            int chunk = chunkAt(start);
+            if (end <= chunkChars[chunk + 1]) {
+                return CharBuffer.wrap(chars(chunk), start - chunkChars[chunk], end - start).slice();
+            }
+
+            StringBuilder result = new StringBuilder(end - start);
+            for (int position = start; position < end; ) {
+                chunk = chunkAt(position);
+                int chunkEnd = Math.min(end, chunkChars[chunk + 1]);
+                result.append(chars(chunk), position - chunkChars[chunk], chunkEnd - position);
+                position = chunkEnd;
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+
+        private static class Decoded {
+
+            final int chunk;
+            final char[] chars;
+
+            Decoded(int chunk, char[] chars) {
+                this.chunk = chunk;
+                this.chars = chars;
+            }
+
+        }
+
+    }
+
+}
@@ -7,12 +7,24 @@ package de.plugh.compositeparse;
  * The name of the parser that failed.
  * <p>
  * A few characters of context, ending at the position where the parser failed.
+ * <p>
+ * Most {@link ParseException}s are caught and discarded while backtracking, so the name and context are only computed
+ * when they are first asked for. For the same reason, no stack trace is recorded, since that is by far the most
+ * expensive part of creating an exception. When debugging a parser, stack traces can be turned on by setting the system
+ * property {@value #STACK_TRACES_PROPERTY} to {@code true}.
  */
 @SuppressWarnings("serial") // This exception does not need to be serialised.
 public class ParseException extends Exception {
 
-    private final String name;
-    private final String context;
+    /**
+     * The system property that turns on stack traces for {@link ParseException}s.
+     */
+    public static final String STACK_TRACES_PROPERTY = "de.plugh.compositeparse.stackTraces";
+    private static final boolean STACK_TRACES = Boolean.getBoolean(STACK_TRACES_PROPERTY);
+
+    private final Block block;
+    private String name;
+    private String context;
 
     /**
      * Create a new {@link ParseException} at a block.
@@ -20,14 +32,24 @@ public class ParseException extends Exception {
      * @param block the block to take the extra information from
      */
     public ParseException(Block block) {
-        name = block.getName();
-        context = block.getContext();
+        super(null, null, true, STACK_TRACES);
+        this.block = block;
+    }
+
+    /**
+     * @return the position in the input where the parser failed
+     */
+    public int getOffset() {
+        return block.getInitialCursor();
     }
 
     /**
      * @return the name
      */
     public String getName() {
+        if (name == null) {
+            name = block.getName();
+        }
         return name;
     }
 
@@ -35,9 +57,20 @@ public class ParseException extends Exception {
      * @return the context
      */
     public String getContext() {
+        if (context == null) {
+            context = block.getContext();
+        }
         return context;
     }
 
+    /**
+     * @return the furthest failure of the parse this exception was thrown in
+     * @see FurthestFailure
+     */
+    public FurthestFailure getFurthestFailure() {
+        return block.getFurthestFailure();
+    }
+
     @Override
     public String getMessage() {
         return getContext() + "<- expected: " + getName();
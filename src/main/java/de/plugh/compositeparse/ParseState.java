@@ -0,0 +1,35 @@
+package de.plugh.compositeparse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The state shared by all {@link Block}s of a single top-level parse.
+ */
+class ParseState {
+
+    final FurthestFailure furthestFailure = new FurthestFailure();
+    Profiler profiler;
+    BacktrackHeatMap heatMap;
+    private long blockCount;
+    private Map<Object, Object> locals;
+
+    /**
+     * @return a new id, greater than all ids handed out before
+     */
+    long nextBlockId() {
+        return blockCount++;
+    }
+
+    Object getLocal(Object key) {
+        return locals == null ? null : locals.get(key);
+    }
+
+    void setLocal(Object key, Object value) {
+        if (locals == null) {
+            locals = new HashMap<>();
+        }
+        locals.put(key, value);
+    }
+
+}
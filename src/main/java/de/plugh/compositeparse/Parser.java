@@ -63,6 +63,10 @@ import java.util.function.Function;
  * <p>
  * {@link Parser}s are usually created by combining multiple smaller parsers. For more information, see the introductory
  * comment in the source file of this class.
+ * <p>
+ * Since parsers are immutable and all state of a parse lives in its {@link Block}s and {@link Input}, a grammar can be
+ * built once and then shared, even by threads that parse at the same time. This is usually cheaper than creating the
+ * parsers anew in each call to {@link #read(Block)}.
  *
  * @param <T> return type of the parser
  */
@@ -73,7 +77,20 @@ public interface Parser<T> {
      * @return the parser's naming scheme
      */
     default Function<List<Block>, String> getNamingScheme() {
-        return Block::first;
+        return Block.FIRST;
+    }
+
+    /**
+     * Describe which characters this parser can start with. Parsers like {@link de.plugh.compositeparse.parsers.Options}
+     * use this to skip alternatives that can't succeed at the current position.
+     * <p>
+     * The default implementation returns {@link FirstSet#UNKNOWN}, which is always correct. Overwrite it if you know
+     * better, but never return a set that is too small.
+     *
+     * @return the parser's {@link FirstSet}
+     */
+    default FirstSet getFirstSet() {
+        return FirstSet.UNKNOWN;
     }
 
     /**
@@ -88,11 +105,13 @@ public interface Parser<T> {
      * @throws ParseException if the input format was incorrect
      */
     default T parse(Block block) throws ParseException {
-        Block subblock = new Block(block, getNamingScheme());
+        Block subblock = block.enter(this);
         try {
-            return read(subblock);
+            T result = read(subblock);
+            subblock.succeeded();
+            return result;
         } catch (ParseException e) {
-            subblock.resetCursor();
+            subblock.failed();
             throw e;
         }
     }
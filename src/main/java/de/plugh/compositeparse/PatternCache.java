@@ -0,0 +1,47 @@
+package de.plugh.compositeparse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A {@link PatternCache} remembers the {@link Pattern}s compiled from the most recently used regular expressions.
+ * <p>
+ * Compiling a regex is a lot more expensive than matching it, so callers that can only pass regexes as {@link String}s
+ * (like {@link Input#match(String)}) use this cache instead of calling {@link Pattern#compile(String)} every
+ * time. The cache is bounded: once it is full, the least recently used {@link Pattern} is evicted.
+ * <p>
+ * All methods of this class are thread-safe.
+ */
+public final class PatternCache {
+
+    private static final int CAPACITY = 256;
+
+    private static final Map<String, Pattern> PATTERNS = new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+
+    private PatternCache() {
+    }
+
+    /**
+     * Look up the {@link Pattern} for a regex, compiling it if it is not cached yet.
+     *
+     * @param regex the regular expression to compile
+     * @return the compiled {@link Pattern}
+     */
+    public static Pattern get(String regex) {
+        synchronized (PATTERNS) {
+            Pattern pattern = PATTERNS.get(regex);
+            if (pattern == null) {
+                pattern = Pattern.compile(regex);
+                PATTERNS.put(regex, pattern);
+            }
+            return pattern;
+        }
+    }
+
+}
@@ -0,0 +1,312 @@
+package de.plugh.compositeparse;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link Profiler} records how much work each parser of a grammar does, to find the rules that make a parse slow.
+ * <p>
+ * To profile a parse, pass a {@link Profiler} to {@link Block#setProfiler(Profiler)} of its top-level {@link Block}
+ * before parsing. From then on, every {@link Parser#parse(Block)} call of that parse is recorded. Calls are grouped by
+ * their parser's {@link Block#label(String) label}, or by the parser's class if it has none. For each group, the
+ * profiler counts:
+ * <ul>
+ * <li>how often the parsers were called, and how many of those calls succeeded and failed</li>
+ * <li>the total time spent in the calls, counting recursive calls only once</li>
+ * <li>the self time, which is the total time minus the time spent in sub-parsers</li>
+ * <li>how many characters the successful calls consumed, again counting recursive calls only once</li>
+ * <li>how often {@link Block#resetCursor()} or {@link Block#rewind(int)} actually moved the cursor back
+ * (backtracks)</li>
+ * </ul>
+ * <p>
+ * A {@link de.plugh.compositeparse.parsers.Memo} only calls the parser it wraps the first time it runs at a position.
+ * All later calls at that position are answered from its cache and show up as calls of {@code Memo$Entry} instead,
+ * which don't count towards the wrapped parser or its sub-parsers.
+ * <p>
+ * Parses that are not profiled only pay for a null check per {@link Parser#parse(Block)} call. A {@link Profiler} can
+ * be used for multiple parses one after the other, and then adds up their numbers. It must not be used by multiple
+ * threads at once.
+ */
+public class Profiler {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Class<?>, String> classNames = new HashMap<>();
+    private Frame top;
+
+    /**
+     * The numbers recorded for one label or class.
+     */
+    public static class Entry {
+
+        private final String name;
+        private long invocations;
+        private long successes;
+        private long failures;
+        private long totalNanos;
+        private long selfNanos;
+        private long charsConsumed;
+        private long backtracks;
+        private int active; // how many calls are currently running, to only count the outermost recursive call
+
+        Entry(String name) {
+            this.name = name;
+        }
+
+        void backtracked() {
+            backtracks++;
+        }
+
+        /**
+         * @return the label or class name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return how often the parsers were called
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * @return how many calls succeeded
+         */
+        public long getSuccesses() {
+            return successes;
+        }
+
+        /**
+         * @return how many calls failed (with a {@link ParseException})
+         */
+        public long getFailures() {
+            return failures;
+        }
+
+        /**
+         * @return the time spent in the calls (not counting recursive calls), in nanoseconds
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * @return the time spent in the calls, minus the time spent in their sub-parsers, in nanoseconds
+         */
+        public long getSelfNanos() {
+            return selfNanos;
+        }
+
+        /**
+         * @return how many characters the successful calls consumed (not counting recursive calls)
+         */
+        public long getCharsConsumed() {
+            return charsConsumed;
+        }
+
+        /**
+         * @return how often the cursor was moved back after a call failed
+         */
+        public long getBacktracks() {
+            return backtracks;
+        }
+
+    }
+
+    /**
+     * A call that is still running.
+     */
+    private static class Frame {
+
+        final Block block;
+        final Entry entry;
+        final Frame parent;
+        final long start;
+        long childNanos;
+
+        Frame(Block block, Entry entry, Frame parent, long start) {
+            this.block = block;
+            this.entry = entry;
+            this.parent = parent;
+            this.start = start;
+        }
+
+    }
+
+    /**
+     * Called by {@link Parser#parse(Block)} before the parser reads anything.
+     */
+    void enter(Parser<?> parser, Block block) {
+        Entry entry = entry(parser, block);
+        entry.invocations++;
+        entry.active++;
+
+        block.setProfile(entry);
+        top = new Frame(block, entry, top, System.nanoTime());
+    }
+
+    /**
+     * Called by {@link Parser#parse(Block)} after the parser succeeded or failed, but before the cursor is reset.
+     */
+    void exit(Block block, boolean success) {
+        long now = System.nanoTime();
+
+        Frame frame = top;
+        while (frame != null && frame.block != block) {
+            frame = frame.parent;
+        }
+        if (frame == null) {
+            // The profiler was set while the parser was already running
+            return;
+        }
+
+        // Calls that ended with an exception other than a ParseException never exited
+        while (top != frame) {
+            top.entry.active--;
+            top = top.parent;
+        }
+        top = frame.parent;
+
+        long nanos = now - frame.start;
+        Entry entry = frame.entry;
+        entry.selfNanos += nanos - frame.childNanos;
+        entry.active--;
+        boolean outermost = entry.active == 0;
+        if (outermost) {
+            entry.totalNanos += nanos;
+        }
+        if (top != null) {
+            top.childNanos += nanos;
+        }
+
+        if (success) {
+            entry.successes++;
+            if (outermost) {
+                entry.charsConsumed += block.getInput().getCursor() - block.getInitialCursor();
+            }
+        } else {
+            entry.failures++;
+        }
+    }
+
+    private Entry entry(Parser<?> parser, Block block) {
+        String name = block.getLabel();
+        if (name == null) {
+            name = classNames.computeIfAbsent(parser.getClass(), Profiler::className);
+        }
+        return entries.computeIfAbsent(name, Entry::new);
+    }
+
+    private static String className(Class<?> parserClass) {
+        // Options and Decision try their alternatives through one of these per next character (see Dispatch), which
+        // should show up as the Options or Decision itself, no matter whether that dispatch is used or not
+        if (parserClass.getSimpleName().equals("Ordered") && parserClass.getEnclosingClass() != null) {
+            return className(parserClass.getEnclosingClass());
+        }
+
+        String name = parserClass.getName();
+        name = name.substring(name.lastIndexOf('.') + 1);
+
+        // Lambdas' class names end in a number that changes from run to run
+        int lambda = name.indexOf("$$Lambda");
+        if (lambda >= 0) {
+            name = name.substring(0, lambda) + " (lambda)";
+        }
+        return name;
+    }
+
+    /**
+     * @return the recorded numbers, the ones with the highest self time first
+     */
+    public List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>(entries.values());
+        result.sort(Comparator.comparingLong(Entry::getSelfNanos).reversed().thenComparing(Entry::getName));
+        return result;
+    }
+
+    /**
+     * Forget everything recorded so far. Calls that are still running when this is called are not recorded at all.
+     */
+    public void clear() {
+        entries.clear();
+        // The running calls' frames point to the old entries, and their recursion counters are in there too
+        top = null;
+    }
+
+    /**
+     * @return the recorded numbers as a table, the ones with the highest self time first
+     */
+    public String toText() {
+        List<Entry> sorted = getEntries();
+        int width = "parser".length();
+        for (Entry entry : sorted) {
+            width = Math.max(width, entry.name.length());
+        }
+
+        String format = "%-" + width + "s %12s %12s %12s %12s %12s %12s %12s%n";
+        StringBuilder result = new StringBuilder();
+        result.append(String.format(Locale.ROOT, format, "parser", "calls", "successes", "failures", "total ms",
+                "self ms", "chars", "backtracks"));
+        for (Entry entry : sorted) {
+            result.append(String.format(Locale.ROOT, format, entry.name, entry.invocations, entry.successes,
+                    entry.failures, millis(entry.totalNanos), millis(entry.selfNanos), entry.charsConsumed,
+                    entry.backtracks));
+        }
+        return result.toString();
+    }
+
+    /**
+     * @return the recorded numbers as a JSON array of objects, the ones with the highest self time first
+     */
+    public String toJson() {
+        StringBuilder result = new StringBuilder("[");
+        List<Entry> sorted = getEntries();
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append("\n  {\"name\": ");
+            appendJsonString(result, entry.name);
+            result.append(", \"invocations\": ").append(entry.invocations)
+                    .append(", \"successes\": ").append(entry.successes)
+                    .append(", \"failures\": ").append(entry.failures)
+                    .append(", \"totalNanos\": ").append(entry.totalNanos)
+                    .append(", \"selfNanos\": ").append(entry.selfNanos)
+                    .append(", \"charsConsumed\": ").append(entry.charsConsumed)
+                    .append(", \"backtracks\": ").append(entry.backtracks)
+                    .append('}');
+        }
+        return result.append(sorted.isEmpty() ? "]" : "\n]").toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    private static void appendJsonString(StringBuilder result, String string) {
+        result.append('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"' || c == '\\') {
+                result.append('\\').append(c);
+            } else if (c < 0x20) {
+                result.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                result.append(c);
+            }
+        }
+        result.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+}
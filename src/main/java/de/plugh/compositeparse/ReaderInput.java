@@ -0,0 +1,215 @@
+package de.plugh.compositeparse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The {@link ReaderInput} reads its content from a {@link Reader} while it is being parsed.
+ * <p>
+ * Only a window of the content is kept in memory. The window is filled from the {@link Reader} as the parsers look
+ * further ahead, and the part of it before the last {@link #commit()} point is dropped again once more space is needed.
+ * Without commits, the window grows to hold everything read so far, because every {@link Block} could still reset the
+ * cursor to its initial position.
+ * <p>
+ * After a commit, positions before the commit point (minus a few characters of context for error messages) may be
+ * dropped. Moving the cursor to a dropped position throws an {@link IllegalStateException} instead of clamping the
+ * cursor like at the bounds of the input, since parsing would silently continue from the wrong place otherwise. This
+ * usually means that a {@link de.plugh.compositeparse.parsers.Commit} was placed where the parsers might still
+ * backtrack past it, like inside one of several {@link de.plugh.compositeparse.parsers.Options}.
+ * <p>
+ * Reading from the {@link Reader} happens on demand, so any {@link IOException} is rethrown as an
+ * {@link UncheckedIOException}. Like all inputs, the {@link ReaderInput} can hold at most {@link Integer#MAX_VALUE}
+ * characters.
+ */
+public class ReaderInput implements Input {
+
+    private static final int DEFAULT_WINDOW = 1 << 16;
+    // Characters kept before the commit point so that error messages still have some context
+    private static final int CONTEXT_KEPT = 64;
+
+    private final Reader reader;
+    private char[] window;
+    private int windowStart; // position of window[0]
+    private int windowEnd;   // position after the last character read so far
+    private int committed;
+    private boolean endOfStream;
+    private int cursor;
+
+    /**
+     * Create a new {@link ReaderInput} over a {@link Reader}.
+     *
+     * @param reader     the content of the reader
+     * @param windowSize how many characters to read at once (the window grows if necessary)
+     */
+    public ReaderInput(Reader reader, int windowSize) {
+        this.reader = reader;
+        window = new char[Math.max(CONTEXT_KEPT, windowSize)];
+    }
+
+    /**
+     * Create a new {@link ReaderInput} over a {@link Reader}.
+     *
+     * @param reader the content of the reader
+     */
+    public ReaderInput(Reader reader) {
+        this(reader, DEFAULT_WINDOW);
+    }
+
+    /**
+     * Create a new {@link ReaderInput} over an {@link InputStream}.
+     *
+     * @param stream  the content of the reader
+     * @param charset the stream's encoding
+     */
+    public ReaderInput(InputStream stream, Charset charset) {
+        this(new InputStreamReader(stream, charset));
+    }
+
+    /**
+     * Make sure the window contains all characters before a position, or the whole rest of the stream if it ends
+     * earlier.
+     */
+    private void fill(long position) {
+        while (windowEnd < position && !endOfStream) {
+            if (windowEnd - windowStart == window.length) {
+                makeSpace();
+            }
+
+            try {
+                int count = reader.read(window, windowEnd - windowStart, window.length - (windowEnd - windowStart));
+                if (count < 0) {
+                    endOfStream = true;
+                } else if ((long) windowEnd + count > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Input is longer than " + Integer.MAX_VALUE + " characters");
+                } else {
+                    windowEnd += count;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void makeSpace() {
+        // Never drop the cursor position itself, even if the cursor was reset past the commit point
+        int drop = Math.max(0, Math.min(committed, cursor) - CONTEXT_KEPT - windowStart);
+        int kept = windowEnd - windowStart - drop;
+
+        if (drop < window.length / 2) {
+            // Not enough can be dropped, so the window needs to grow
+            char[] newWindow = new char[window.length * 2];
+            System.arraycopy(window, drop, newWindow, 0, kept);
+            window = newWindow;
+        } else {
+            System.arraycopy(window, drop, window, 0, kept);
+        }
+
+        windowStart += drop;
+    }
+
+    private int clampCursor(long position) {
+        if (position > windowEnd) {
+            fill(position);
+        }
+        return (int) Math.max(windowStart, Math.min(windowEnd, position));
+    }
+
+    private int checkCursor(long position) {
+        // Before anything was dropped, positions before the start are just clamped like everywhere else
+        if (position < windowStart && windowStart > 0) {
+            throw new IllegalStateException("Position " + position + " was already dropped after a commit (the "
+                    + "input is only available from position " + windowStart + " on)");
+        }
+        return clampCursor(position);
+    }
+
+    @Override
+    public int getCursor() {
+        return cursor;
+    }
+
+    @Override
+    public void setCursor(int cursor) {
+        this.cursor = checkCursor(cursor);
+    }
+
+    @Override
+    public void move(int amount) {
+        cursor = checkCursor((long) cursor + amount);
+    }
+
+    @Override
+    public String look(int amount) {
+        int other = clampCursor((long) cursor + amount);
+        int from = Math.min(cursor, other);
+        int to = Math.max(cursor, other);
+        return new String(window, from - windowStart, to - from);
+    }
+
+    @Override
+    public int peek(int offset) {
+        long position = (long) cursor + offset;
+        fill(position + 1);
+        if (position < windowStart || position >= windowEnd) {
+            return -1;
+        }
+        return window[(int) (position - windowStart)];
+    }
+
+    /**
+     * Because the window's content is moved around as the input is read, the {@link ReaderInput} can't hand out views
+     * that stay valid. This returns a copy instead, just like {@link #look(int)}.
+     */
+    @Override
+    public CharSequence lookView(int amount) {
+        return look(amount);
+    }
+
+    @Override
+    public String match(Pattern pattern) {
+        return match(pattern, false);
+    }
+
+    @Override
+    public String matchHere(Pattern pattern) {
+        return match(pattern, true);
+    }
+
+    private String match(Pattern pattern, boolean here) {
+        while (true) {
+            CharBuffer rest = CharBuffer.wrap(window, cursor - windowStart, windowEnd - cursor);
+            Matcher matcher = pattern.matcher(rest);
+            boolean found = here ? matcher.lookingAt() : matcher.find();
+
+            // More input might have changed the result, so read some more and try again
+            if (matcher.hitEnd() && !endOfStream) {
+                fill((long) windowEnd + window.length / 2 + 1);
+                continue;
+            }
+
+            return found ? read(matcher.end()) : null;
+        }
+    }
+
+    @Override
+    public boolean complete() {
+        fill((long) cursor + 1);
+        return cursor >= windowEnd;
+    }
+
+    /**
+     * Allow the part of the window before the current cursor position to be dropped.
+     */
+    @Override
+    public void commit() {
+        committed = Math.max(committed, cursor);
+    }
+
+}
@@ -0,0 +1,136 @@
+package de.plugh.compositeparse;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily parses an {@link Input} as a sequence of records, one record each time the next one is asked for.
+ * <p>
+ * This does the same as parsing the whole input with a {@link de.plugh.compositeparse.parsers.Repeat} (followed by
+ * {@link de.plugh.compositeparse.parsers.EndOfInput}), but doesn't keep the results around: Each record is parsed with
+ * a fresh {@link Block} structure that is discarded afterwards, and the input is {@link Input#commit() committed}
+ * after every record. Together with a {@link ReaderInput}, memory usage stays flat no matter how big the input is.
+ * <p>
+ * The records may be separated by a separator, which may also appear once after the last record (e. g. a newline at
+ * the end of a file). If a record or separator can't be parsed, an {@link UncheckedParseException} is thrown by
+ * {@link #hasNext()} or {@link #next()}.
+ *
+ * @param <T> type of the records
+ */
+public class Records<T> implements Iterator<T> {
+
+    private final Input input;
+    private final Parser<T> parser;
+    private final Parser<?> separator;
+
+    private boolean first = true;
+    private boolean done;
+    private boolean hasPending;
+    private T pending;
+
+    /**
+     * Create a new {@link Records} iterator.
+     *
+     * @param input     the input to parse
+     * @param separator the parser that separates the records
+     * @param parser    the parser for a single record
+     */
+    public Records(Input input, Parser<?> separator, Parser<T> parser) {
+        this.input = input;
+        this.separator = separator;
+        this.parser = parser;
+    }
+
+    /**
+     * Create a new {@link Records} iterator (without separators).
+     *
+     * @param input  the input to parse
+     * @param parser the parser for a single record
+     */
+    public Records(Input input, Parser<T> parser) {
+        this(input, null, parser);
+    }
+
+    /**
+     * Create a sequential {@link Stream} of records.
+     *
+     * @param <T>       type of the records
+     * @param input     the input to parse
+     * @param separator the parser that separates the records (or null)
+     * @param parser    the parser for a single record
+     * @return the {@link Stream}
+     */
+    public static <T> Stream<T> stream(Input input, Parser<?> separator, Parser<T> parser) {
+        Iterator<T> records = new Records<>(input, separator, parser);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Create a sequential {@link Stream} of records (without separators).
+     *
+     * @param <T>    type of the records
+     * @param input  the input to parse
+     * @param parser the parser for a single record
+     * @return the {@link Stream}
+     */
+    public static <T> Stream<T> stream(Input input, Parser<T> parser) {
+        return stream(input, null, parser);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!hasPending && !done) {
+            parseNext();
+        }
+        return hasPending;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        T result = pending;
+        pending = null;
+        hasPending = false;
+        return result;
+    }
+
+    private void parseNext() {
+        // A new root block per record, so that nothing from earlier records is kept
+        Block block = new Block(input);
+        int start = input.getCursor();
+
+        try {
+            if (!first && separator != null && !input.complete()) {
+                separator.parse(block);
+            }
+            if (input.complete()) {
+                done = true;
+                return;
+            }
+
+            T result = parser.parse(block);
+            if (input.getCursor() == start) {
+                // Otherwise, the same record would be parsed over and over again
+                done = true;
+                throw new IllegalStateException("Record parser did not consume any input");
+            }
+
+            pending = result;
+            hasPending = true;
+            first = false;
+        } catch (ParseException e) {
+            done = true;
+            throw new UncheckedParseException(e);
+        }
+
+        input.commit();
+    }
+
+}
@@ -0,0 +1,131 @@
+package de.plugh.compositeparse;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@link RopeInput} consists of a list of chunks, which together form the input, and a cursor position on that
+ * input.
+ * <p>
+ * This is useful if the input is already split up into multiple pieces (e. g. network buffers or lines read from a
+ * file), because it avoids concatenating all of them into one big {@link String}. The chunks are not copied, so they
+ * must not change while they are being parsed. They may be read from multiple threads at once (see
+ * {@link #region(int, int)}) if the chunks themselves allow that.
+ */
+public class RopeInput extends CharSequenceInput {
+
+    /**
+     * Create a new {@link RopeInput} from multiple chunks.
+     *
+     * @param chunks the chunks that together form the content of the reader
+     */
+    public RopeInput(List<? extends CharSequence> chunks) {
+        super(new Rope(chunks.toArray(new CharSequence[0])));
+    }
+
+    /**
+     * Create a new {@link RopeInput} from multiple chunks.
+     *
+     * @param chunks the chunks that together form the content of the reader
+     */
+    public RopeInput(CharSequence... chunks) {
+        this(Arrays.asList(chunks));
+    }
+
+    /**
+     * A {@link CharSequence} made up of multiple smaller {@link CharSequence}s.
+     */
+    private static class Rope implements CharSequence {
+
+        private final CharSequence[] chunks;
+        // offsets[i] is the position of the first character of chunks[i]
+        private final int[] offsets;
+        private final int length;
+
+        /*
+         * Parsers mostly read the input sequentially, so the chunk that was accessed
+         * last is usually the one that is accessed next. It is only used after
+         * checking that it contains the index, so it doesn't matter if another
+         * thread changes it in the meantime.
+         */
+        private int lastChunk;
+
+        Rope(CharSequence[] chunks) {
+            this.chunks = chunks;
+            offsets = new int[chunks.length];
+
+            int offset = 0;
+            for (int i = 0; i < chunks.length; i++) {
+                offsets[i] = offset;
+                offset = Math.addExact(offset, chunks[i].length());
+            }
+            length = offset;
+        }
+
+        private int chunkAt(int index) {
+            int chunk = lastChunk;
+            if (chunk < chunks.length && offsets[chunk] <= index && index < offsets[chunk] + chunks[chunk].length()) {
+                return chunk;
+            }
+
+            // Find the last chunk starting at or before the index, skipping empty chunks
+            chunk = Arrays.binarySearch(offsets, index);
+            if (chunk < 0) {
+                chunk = -chunk - 2;
+            }
+            while (chunks[chunk].length() == 0 || offsets[chunk] + chunks[chunk].length() <= index) {
+                chunk++;
+            }
+
+            lastChunk = chunk;
+            return chunk;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+            }
+
+            int chunk = chunkAt(index);
+            return chunks[chunk].charAt(index - offsets[chunk]);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+            }
+
+            if (start == end) {
+                return "";
+            }
+
+            int chunk = chunkAt(start);
+            if (end <= offsets[chunk] + chunks[chunk].length()) {
+                return chunks[chunk].subSequence(start - offsets[chunk], end - offsets[chunk]);
+            }
+
+            StringBuilder result = new StringBuilder(end - start);
+            for (int position = start; position < end; ) {
+                chunk = chunkAt(position);
+                int chunkEnd = Math.min(end, offsets[chunk] + chunks[chunk].length());
+                result.append(chunks[chunk], position - offsets[chunk], chunkEnd - offsets[chunk]);
+                position = chunkEnd;
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length).toString();
+        }
+
+    }
+
+}
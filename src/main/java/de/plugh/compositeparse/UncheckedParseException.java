@@ -0,0 +1,24 @@
+package de.plugh.compositeparse;
+
+/**
+ * Wraps a {@link ParseException} where checked exceptions can't be thrown, e. g. while iterating over
+ * {@link Records}.
+ */
+@SuppressWarnings("serial") // This exception does not need to be serialised.
+public class UncheckedParseException extends RuntimeException {
+
+    /**
+     * Create a new {@link UncheckedParseException}.
+     *
+     * @param cause the {@link ParseException} to wrap
+     */
+    public UncheckedParseException(ParseException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public ParseException getCause() {
+        return (ParseException) super.getCause();
+    }
+
+}
@@ -0,0 +1,186 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.DoubleParser;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parses a floating point number between a lower and upper bound.
+ * <p>
+ * Most numbers (those with at most 15 significant digits and a small exponent) are converted straight from the input
+ * without allocating anything, except for boxing the result (which {@link #parseDouble(Block)} avoids). All others are
+ * handed to {@link Double#parseDouble(String)}. Either way, the result is the closest double to the number in the input.
+ */
+public class BoundedDouble implements DoubleParser {
+
+    private static final FirstSet FIRST_SET = FirstSet.of("+-.0123456789");
+
+    /*
+     * All powers of ten up to 10^22 can be represented exactly as a double. If
+     * the mantissa fits into 53 bits as well, a single multiplication or division
+     * gives the correctly rounded result (this is known as Clinger's fast path).
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final double min;
+    private final double max;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Parse a floating point number between min and max. The number is of the format
+     * {@code [+-]<digits>[.<digits>][e[+-]<digits>]}, where either the digits before or after the decimal point may
+     * be left out. Infinity and NaN are not accepted.
+     *
+     * @param min minimum value of the number
+     * @param max maximum value of the number
+     * @see #between(double, double)
+     */
+    public BoundedDouble(double min, double max) {
+        this.min = min;
+        this.max = max;
+        namingScheme = Block.label(Digits.describe("number",
+                min > -Double.MAX_VALUE ? min : null,
+                max < Double.MAX_VALUE ? max : null));
+    }
+
+    /**
+     * Parse a floating point number. The number is of the format {@code [+-]<digits>[.<digits>][e[+-]<digits>]}.
+     */
+    public BoundedDouble() {
+        this(-Double.MAX_VALUE, Double.MAX_VALUE);
+    }
+
+    /**
+     * Parse a floating point number >= min.
+     *
+     * @param min minimum size of the number
+     * @return the {@link BoundedDouble}
+     */
+    public static BoundedDouble atLeast(double min) {
+        return new BoundedDouble(min, Double.MAX_VALUE);
+    }
+
+    /**
+     * Parse a floating point number <= max.
+     *
+     * @param max maximum size of the number
+     * @return the {@link BoundedDouble}
+     */
+    public static BoundedDouble atMost(double max) {
+        return new BoundedDouble(-Double.MAX_VALUE, max);
+    }
+
+    /**
+     * Parse a floating point number with min <= number <= max.
+     *
+     * @param min minimum size of the number
+     * @param max maximum size of the number
+     * @return the {@link BoundedDouble}
+     */
+    public static BoundedDouble between(double min, double max) {
+        return new BoundedDouble(min, max);
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FIRST_SET;
+    }
+
+    @Override
+    public double readDouble(Block block) throws ParseException {
+        Input input = block.getInput();
+
+        int length = Digits.scanDecimal(input);
+        if (length == 0) {
+            throw new ParseException(block);
+        }
+
+        double number = convert(input, length);
+        if (Double.isInfinite(number) || number < min || number > max) {
+            throw new ParseException(block);
+        }
+
+        input.move(length);
+        return number;
+    }
+
+    /**
+     * Convert a number found by {@link Digits#scanDecimal(Input)} to a double.
+     */
+    private static double convert(Input input, int length) {
+        int position = 0;
+        int c = input.peek(0);
+        boolean negative = c == '-';
+        if (c == '+' || c == '-') {
+            position++;
+        }
+
+        long mantissa = 0;
+        int exponent = 0;
+        boolean exact = true;
+        boolean fraction = false;
+
+        for (; position < length; position++) {
+            c = input.peek(position);
+            if (c == '.') {
+                fraction = true;
+                continue;
+            } else if (c == 'e' || c == 'E') {
+                break;
+            }
+
+            if (mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (c - '0');
+                if (fraction) {
+                    exponent--;
+                }
+            } else {
+                exact = false;
+                break;
+            }
+        }
+
+        if (exact && position < length) {
+            // Skip the 'e' and read the exponent (which was already checked to have at least one digit)
+            position++;
+            c = input.peek(position);
+            boolean negativeExponent = c == '-';
+            if (c == '+' || c == '-') {
+                position++;
+            }
+
+            int explicitExponent = 0;
+            for (; position < length && explicitExponent < 1000; position++) {
+                explicitExponent = explicitExponent * 10 + (input.peek(position) - '0');
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        if (exact && mantissa == 0) {
+            return negative ? -0.0 : 0.0;
+        } else if (exact && exponent >= 0 && exponent < POWERS_OF_TEN.length) {
+            double result = mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -result : result;
+        } else if (exact && exponent < 0 && -exponent < POWERS_OF_TEN.length) {
+            double result = mantissa / POWERS_OF_TEN[-exponent];
+            return negative ? -result : result;
+        } else {
+            return Double.parseDouble(input.look(length));
+        }
+    }
+
+}
@@ -1,32 +1,46 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.IntParser;
 import de.plugh.compositeparse.ParseException;
-import de.plugh.compositeparse.Parser;
 
 import java.util.List;
 import java.util.function.Function;
 
 /**
  * Parses an integer between a lower and upper bound.
+ * <p>
+ * The digits are read straight from the input, so nothing is allocated while parsing, except for boxing the result
+ * (which {@link #parseInt(Block)} avoids).
  */
-public class BoundedInteger implements Parser<Integer> {
+public class BoundedInteger implements IntParser {
 
-    /*
-     * @formatter:off
-     *
-     * Regex breakdown:
-     *
-     * ^       - Start at the cursor's current position
-     * [+-]?   - Optionally match a sign in the beginning of the string
-     * \\d+    - Match as many digits as you can find, at least one
-     *
-     * @formatter:on
-     */
-    private static final String INTEGER_REGEX = "^[+-]?\\d+";
+    private static final FirstSet DECIMAL_FIRST_SET = Digits.integerFirstSet(10);
 
     private final int min;
     private final int max;
+    private final int radix;
+    private final FirstSet firstSet;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Parse an integer between min and max. The integer is of the format {@code [+-]<digits>}, where the digits are
+     * in the given radix (e. g. 16 for hexadecimal digits). Digits above 9 may be upper or lower case letters.
+     *
+     * @param min   minimum value of the integer
+     * @param max   maximum value of the integer
+     * @param radix the radix of the digits
+     */
+    public BoundedInteger(int min, int max, int radix) {
+        this.min = min;
+        this.max = max;
+        this.radix = Digits.checkRadix(radix);
+        firstSet = radix == 10 ? DECIMAL_FIRST_SET : Digits.integerFirstSet(radix);
+        namingScheme = Block.label(Digits.describe(radix == 10 ? "integer" : "base " + radix + " integer",
+                min > Integer.MIN_VALUE ? min : null,
+                max < Integer.MAX_VALUE ? max : null));
+    }
 
     /**
      * Parse an integer between min and max. The integer is of the format {@code [+-]<digits>}.
@@ -36,8 +50,7 @@ public class BoundedInteger implements Parser<Integer> {
      * @see #between(int, int)
      */
     public BoundedInteger(int min, int max) {
-        this.min = min;
-        this.max = max;
+        this(min, max, 10);
     }
 
     /**
@@ -78,44 +91,34 @@ public class BoundedInteger implements Parser<Integer> {
         return new BoundedInteger(min, max);
     }
 
+    /**
+     * Parse a hexadecimal integer (without any prefix like "0x").
+     *
+     * @return the {@link BoundedInteger}
+     */
+    public static BoundedInteger hexadecimal() {
+        return new BoundedInteger(Integer.MIN_VALUE, Integer.MAX_VALUE, 16);
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        String description = "integer";
-
-        if (min > Integer.MIN_VALUE && max < Integer.MAX_VALUE) {
-            description += " (between " + min + " and " + max + ")";
-        } else if (min > Integer.MIN_VALUE) {
-            description += " (at least " + min + ")";
-        } else if (max < Integer.MAX_VALUE) {
-            description += " (at most " + max + ")";
-        }
-
-        return Block.label(description);
+        return namingScheme;
     }
 
     @Override
-    public Integer read(Block block) throws ParseException {
-        String integerString;
-        try {
-            integerString = new Expression(INTEGER_REGEX).parse(block);
-        } catch (ParseException e) {
-            // Mask the regex parse exception with our own (the error messages are better
-            // this way)
-            throw new ParseException(block);
-        }
+    public FirstSet getFirstSet() {
+        return firstSet;
+    }
 
-        int integer;
-        try {
-            integer = Integer.parseInt(integerString);
-        } catch (NumberFormatException e) {
-            throw new ParseException(block);
-        }
+    @Override
+    public int readInt(Block block) throws ParseException {
+        long integer = Digits.readLong(block, radix);
 
         if (integer < min || integer > max) {
             throw new ParseException(block);
         }
 
-        return integer;
+        return (int) integer;
     }
 
 }
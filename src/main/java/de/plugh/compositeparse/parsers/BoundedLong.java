@@ -0,0 +1,124 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.LongParser;
+import de.plugh.compositeparse.ParseException;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parses a long integer between a lower and upper bound.
+ * <p>
+ * The digits are read straight from the input, so nothing is allocated while parsing, except for boxing the result
+ * (which {@link #parseLong(Block)} avoids).
+ */
+public class BoundedLong implements LongParser {
+
+    private static final FirstSet DECIMAL_FIRST_SET = Digits.integerFirstSet(10);
+
+    private final long min;
+    private final long max;
+    private final int radix;
+    private final FirstSet firstSet;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Parse an integer between min and max. The integer is of the format {@code [+-]<digits>}, where the digits are
+     * in the given radix (e. g. 16 for hexadecimal digits). Digits above 9 may be upper or lower case letters.
+     *
+     * @param min   minimum value of the integer
+     * @param max   maximum value of the integer
+     * @param radix the radix of the digits
+     */
+    public BoundedLong(long min, long max, int radix) {
+        this.min = min;
+        this.max = max;
+        this.radix = Digits.checkRadix(radix);
+        firstSet = radix == 10 ? DECIMAL_FIRST_SET : Digits.integerFirstSet(radix);
+        namingScheme = Block.label(Digits.describe(radix == 10 ? "integer" : "base " + radix + " integer",
+                min > Long.MIN_VALUE ? min : null,
+                max < Long.MAX_VALUE ? max : null));
+    }
+
+    /**
+     * Parse an integer between min and max. The integer is of the format {@code [+-]<digits>}.
+     *
+     * @param min minimum value of the integer
+     * @param max maximum value of the integer
+     * @see #between(long, long)
+     */
+    public BoundedLong(long min, long max) {
+        this(min, max, 10);
+    }
+
+    /**
+     * Parse an integer. The integer is of the format {@code [+-]<digits>}.
+     */
+    public BoundedLong() {
+        this(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parse an integer >= min.
+     *
+     * @param min minimun size of the integer
+     * @return the {@link BoundedLong}
+     */
+    public static BoundedLong atLeast(long min) {
+        return new BoundedLong(min, Long.MAX_VALUE);
+    }
+
+    /**
+     * Parse an integer <= max.
+     *
+     * @param max maximum size of the integer
+     * @return the {@link BoundedLong}
+     */
+    public static BoundedLong atMost(long max) {
+        return new BoundedLong(Long.MIN_VALUE, max);
+    }
+
+    /**
+     * Parse an integer with min <= integer <= max.
+     *
+     * @param min minimun size of the integer
+     * @param max maximum size of the integer
+     * @return the {@link BoundedLong}
+     */
+    public static BoundedLong between(long min, long max) {
+        return new BoundedLong(min, max);
+    }
+
+    /**
+     * Parse a hexadecimal integer (without any prefix like "0x").
+     *
+     * @return the {@link BoundedLong}
+     */
+    public static BoundedLong hexadecimal() {
+        return new BoundedLong(Long.MIN_VALUE, Long.MAX_VALUE, 16);
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return firstSet;
+    }
+
+    @Override
+    public long readLong(Block block) throws ParseException {
+        long integer = Digits.readLong(block, radix);
+
+        if (integer < min || integer > max) {
+            throw new ParseException(block);
+        }
+
+        return integer;
+    }
+
+}
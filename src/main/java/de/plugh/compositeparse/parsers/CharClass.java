@@ -0,0 +1,174 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A {@link CharClass} is a set of characters, like a character class in a regular expression (e. g. {@code [a-z]}).
+ * <p>
+ * Membership of ASCII characters is looked up in a precomputed 128 bit mask. For all other characters, an optional
+ * fallback predicate is asked. This makes scanning over a {@link CharClass} (see {@link TakeWhile},
+ * {@link TakeWhile1} and {@link SkipWhile}) a lot cheaper than matching the equivalent regular expression.
+ */
+public final class CharClass {
+
+    /**
+     * The ASCII digits 0-9 (like {@code \d} in a regular expression).
+     */
+    public static final CharClass DIGIT = range('0', '9').named("digit");
+
+    /**
+     * The ASCII whitespace characters (like {@code \s} in a regular expression).
+     */
+    public static final CharClass WHITESPACE = of(" \t\n\u000B\f\r").named("whitespace");
+
+    // Bit i of low (or high) is set if character i (or i + 64) is a member
+    private final long low;
+    private final long high;
+    private final IntPredicate other; // asked for non-ASCII characters, null if none of them is a member for sure
+    private final String name;
+
+    private CharClass(long low, long high, IntPredicate other, String name) {
+        this.low = low;
+        this.high = high;
+        this.other = other;
+        this.name = name;
+    }
+
+    /**
+     * @param chars the characters in the class
+     * @return a {@link CharClass} containing exactly these characters
+     */
+    public static CharClass of(String chars) {
+        IntPredicate member = c -> chars.indexOf(c) >= 0;
+        boolean ascii = chars.chars().allMatch(c -> c < 128);
+        return create("[" + chars + "]", member, ascii ? null : member);
+    }
+
+    /**
+     * @param from the first character in the class
+     * @param to   the last character in the class
+     * @return a {@link CharClass} containing all characters between from and to (inclusive)
+     */
+    public static CharClass range(char from, char to) {
+        IntPredicate member = c -> from <= c && c <= to;
+        return create("[" + from + "-" + to + "]", member, to < 128 ? null : member);
+    }
+
+    /**
+     * Create a {@link CharClass} from an arbitrary predicate. The predicate is evaluated for all ASCII characters right
+     * away, and is used as a fallback for all other characters.
+     *
+     * @param name      the name of the class (used in error messages)
+     * @param predicate whether a character is in the class
+     * @return the {@link CharClass}
+     */
+    public static CharClass matching(String name, IntPredicate predicate) {
+        return create(name, predicate, predicate);
+    }
+
+    // Classes that are known to only contain ASCII characters pass null as other, so that their FirstSet is smaller
+    private static CharClass create(String name, IntPredicate predicate, IntPredicate other) {
+        long low = 0;
+        long high = 0;
+        for (int c = 0; c < 64; c++) {
+            if (predicate.test(c)) {
+                low |= 1L << c;
+            }
+            if (predicate.test(c + 64)) {
+                high |= 1L << c;
+            }
+        }
+        return new CharClass(low, high, other, name);
+    }
+
+    /**
+     * @param name the new name
+     * @return the same {@link CharClass}, but with a different name
+     */
+    public CharClass named(String name) {
+        return new CharClass(low, high, other, name);
+    }
+
+    /**
+     * @param other another {@link CharClass}
+     * @return a {@link CharClass} containing all characters that are in either class
+     */
+    public CharClass union(CharClass other) {
+        IntPredicate combined;
+        if (this.other == null) {
+            combined = other.other;
+        } else if (other.other == null) {
+            combined = this.other;
+        } else {
+            combined = this.other.or(other.other);
+        }
+        return new CharClass(low | other.low, high | other.high, combined, name + " or " + other.name);
+    }
+
+    /**
+     * @return a {@link CharClass} containing exactly the characters that are not in this class
+     */
+    public CharClass complement() {
+        IntPredicate negated = other == null ? c -> true : other.negate();
+        return new CharClass(~low, ~high, negated, "not " + name);
+    }
+
+    /**
+     * @return the name of the class (used in error messages)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param c a character, or -1 for the end of the input
+     * @return whether the character is in the class (the end of the input never is)
+     */
+    public boolean contains(int c) {
+        if (c < 0) {
+            return false;
+        } else if (c < 64) {
+            return (low & (1L << c)) != 0;
+        } else if (c < 128) {
+            return (high & (1L << (c - 64))) != 0;
+        } else {
+            return other != null && other.test(c);
+        }
+    }
+
+    /**
+     * Count how many characters of the input, starting at an offset from the cursor, are in the class. The cursor is
+     * not moved.
+     *
+     * @param input  the input to look at
+     * @param offset where to start, relative to the cursor
+     * @return the number of consecutive characters in the class
+     */
+    public int span(Input input, int offset) {
+        int position = offset;
+        while (contains(input.peek(position))) {
+            position++;
+        }
+        return position - offset;
+    }
+
+    /**
+     * @return the {@link FirstSet} of a parser that consumes at least one character of this class
+     */
+    public FirstSet toFirstSet() {
+        FirstSet result = FirstSet.NONE;
+        for (char c = 0; c < 128; c++) {
+            if (contains(c)) {
+                result = result.union(FirstSet.range(c, c));
+            }
+        }
+        if (other != null) {
+            result = result.union(FirstSet.range('\u0080', '\uFFFF'));
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,46 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+/**
+ * Runs a parser and, if it was successful, {@link Input#commit()}s the input, i. e. declares that nothing before the
+ * current cursor position will be needed again.
+ * <p>
+ * This allows inputs like {@link de.plugh.compositeparse.ReaderInput} to release the parsed part of their content. Wrap
+ * the element parser of a top-level {@link Repeat} in a {@link Commit} so the input doesn't have to keep everything it
+ * has read so far.
+ * <p>
+ * After a commit, backtracking past the commit point is no longer possible.
+ *
+ * @param <T> return type of the parser
+ */
+public class Commit<T> implements Parser<T> {
+
+    private final Parser<T> parser;
+
+    /**
+     * Create a new {@link Commit} parser.
+     *
+     * @param parser the parser to run before committing
+     */
+    public Commit(Parser<T> parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+
+    @Override
+    public T read(Block block) throws ParseException {
+        T result = parser.parse(block);
+        block.getInput().commit();
+        return result;
+    }
+
+}
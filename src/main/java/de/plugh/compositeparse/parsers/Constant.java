@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.Parser;
 
 import java.util.List;
@@ -13,6 +14,8 @@ import java.util.function.Function;
  */
 public class Constant<T> implements Parser<T> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("constant");
+
     private T value;
 
     /**
@@ -26,7 +29,12 @@ public class Constant<T> implements Parser<T> {
 
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("constant");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FirstSet.NOTHING;
     }
 
     @Override
@@ -0,0 +1,81 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parses a decimal number of arbitrary size and precision between an optional lower and upper bound.
+ * <p>
+ * Unlike {@link BoundedDouble}, this keeps every digit of the number exactly as it appears in the input.
+ */
+public class DecimalNumber implements Parser<BigDecimal> {
+
+    private static final FirstSet FIRST_SET = FirstSet.of("+-.0123456789");
+
+    private final BigDecimal min;
+    private final BigDecimal max;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Parse a decimal number between min and max. The number is of the format
+     * {@code [+-]<digits>[.<digits>][e[+-]<digits>]}, where either the digits before or after the decimal point may
+     * be left out.
+     *
+     * @param min minimum value of the number (or null if there is none)
+     * @param max maximum value of the number (or null if there is none)
+     */
+    public DecimalNumber(BigDecimal min, BigDecimal max) {
+        this.min = min;
+        this.max = max;
+        namingScheme = Block.label(Digits.describe("decimal number", min, max));
+    }
+
+    /**
+     * Parse a decimal number. The number is of the format {@code [+-]<digits>[.<digits>][e[+-]<digits>]}.
+     */
+    public DecimalNumber() {
+        this(null, null);
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FIRST_SET;
+    }
+
+    @Override
+    public BigDecimal read(Block block) throws ParseException {
+        Input input = block.getInput();
+
+        int length = Digits.scanDecimal(input);
+        if (length == 0) {
+            throw new ParseException(block);
+        }
+
+        BigDecimal number;
+        try {
+            number = new BigDecimal(input.read(length));
+        } catch (NumberFormatException e) {
+            // The exponent doesn't fit into an int
+            throw new ParseException(block);
+        }
+
+        if ((min != null && number.compareTo(min) < 0) || (max != null && number.compareTo(max) > 0)) {
+            throw new ParseException(block);
+        }
+
+        return number;
+    }
+
+}
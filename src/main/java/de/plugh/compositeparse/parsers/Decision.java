@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.Pair;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
@@ -15,12 +16,17 @@ import java.util.function.Function;
  * <p>
  * If a "head" parses successfully, the corresponding "body" parser must be successful, otherwise a parse exception is
  * raised. If no "head" is successful, the {@link Decision} parser fails too.
+ * <p>
+ * Like {@link Options}, heads that can't start with the next character of the input (according to their
+ * {@link FirstSet}) are only tried after all other heads have failed.
  *
  * @param <T> return type of the parser
  */
 public class Decision<T> implements Parser<T> {
 
     private final List<Pair<Parser<?>, Parser<T>>> pairs;
+    private Dispatch<Ordered> dispatch;
+    private volatile boolean dispatchBuilt;
 
     /**
      * Create a new {@link Decision} parser from all passed arguments, which are "head"-"body" pairs.
@@ -47,6 +53,36 @@ public class Decision<T> implements Parser<T> {
         return Block::alternative;
     }
 
+    private Dispatch<Ordered> getDispatch() {
+        // Computed lazily, since many Decisions are only created to be used once
+        if (!dispatchBuilt) {
+            List<FirstSet> firstSets = new ArrayList<>();
+            pairs.forEach(pair -> firstSets.add(pair.getFirst().getFirstSet()));
+            dispatch = Dispatch.of(firstSets, Ordered::new);
+            dispatchBuilt = true;
+        }
+        return dispatch;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        FirstSet result = FirstSet.NONE;
+        for (Pair<Parser<?>, Parser<T>> pair : pairs) {
+            result = result.union(pair.getFirst().getFirstSet().followedBy(pair.getSecond().getFirstSet()));
+        }
+        return result;
+    }
+
+    @Override
+    public T parse(Block block) throws ParseException {
+        Dispatch<Ordered> dispatch = getDispatch();
+        if (dispatch == null) {
+            return Parser.super.parse(block);
+        } else {
+            return dispatch.row(block.getInput().peek(0)).parse(block);
+        }
+    }
+
     @Override
     public T read(Block block) throws ParseException {
         for (Pair<Parser<?>, Parser<T>> pair : pairs) {
@@ -62,4 +98,40 @@ public class Decision<T> implements Parser<T> {
         throw new ParseException(block);
     }
 
+    /**
+     * Tries the heads in the order a {@link Dispatch} chose for one character.
+     */
+    private class Ordered implements Parser<T> {
+
+        private final int[] order;
+        private final Function<List<Block>, String> namingScheme;
+
+        Ordered(int[] order) {
+            this.order = order;
+            namingScheme = Dispatch.namingScheme(order);
+        }
+
+        @Override
+        public Function<List<Block>, String> getNamingScheme() {
+            return namingScheme;
+        }
+
+        @Override
+        public T read(Block block) throws ParseException {
+            for (int i : order) {
+                Pair<Parser<?>, Parser<T>> pair = pairs.get(i);
+                try {
+                    pair.getFirst().parse(block);
+                } catch (ParseException e) {
+                    continue;
+                }
+
+                return pair.getSecond().parse(block);
+            }
+
+            throw new ParseException(block);
+        }
+
+    }
+
 }
@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 
@@ -45,6 +46,11 @@ public class Default<T> implements Parser<T> {
         return blocks -> blocks.get(0).getName();
     }
 
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet().orNothing();
+    }
+
     @Override
     public T read(Block block) {
         try {
@@ -0,0 +1,163 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+
+/**
+ * Scanning and conversion routines shared by the numeric parsers. They read the input one character at a time using
+ * {@link Input#peek(int)}, so nothing is allocated while scanning.
+ */
+final class Digits {
+
+    private Digits() {
+    }
+
+    /**
+     * @param c     a character, or -1 for the end of the input
+     * @param radix the radix (between {@link Character#MIN_RADIX} and {@link Character#MAX_RADIX})
+     * @return the value of the ASCII digit in that radix, or -1 if the character isn't one
+     */
+    static int digit(int c, int radix) {
+        int value;
+        if (c >= '0' && c <= '9') {
+            value = c - '0';
+        } else if (c >= 'a' && c <= 'z') {
+            value = c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'Z') {
+            value = c - 'A' + 10;
+        } else {
+            return -1;
+        }
+        return value < radix ? value : -1;
+    }
+
+    static int checkRadix(int radix) {
+        if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX) {
+            throw new IllegalArgumentException("Radix " + radix + " is not between " + Character.MIN_RADIX + " and "
+                    + Character.MAX_RADIX);
+        }
+        return radix;
+    }
+
+    /**
+     * @param radix the radix
+     * @return the {@link FirstSet} of {@code [+-]?<digits>}
+     */
+    static FirstSet integerFirstSet(int radix) {
+        FirstSet result = FirstSet.of("+-");
+        for (char c = 0; c < 128; c++) {
+            if (digit(c, radix) >= 0) {
+                result = result.union(FirstSet.range(c, c));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Read an integer of the format {@code [+-]?<digits>} starting at the cursor and move the cursor past it.
+     * <p>
+     * Like {@link Long#parseLong(String, int)}, the value is accumulated as a negative number, so that
+     * {@link Long#MIN_VALUE} can be represented as well.
+     *
+     * @param block the block to read with
+     * @param radix the radix of the digits
+     * @return the integer
+     * @throws ParseException if there is no integer or it doesn't fit into a long
+     */
+    static long readLong(Block block, int radix) throws ParseException {
+        Input input = block.getInput();
+        int first = input.peek(0);
+        boolean negative = first == '-';
+        int length = first == '+' || first == '-' ? 1 : 0;
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / radix;
+        long result = 0;
+        int start = length;
+
+        int digit;
+        while ((digit = digit(input.peek(length), radix)) >= 0) {
+            if (result < multiplyLimit) {
+                throw new ParseException(block);
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                throw new ParseException(block);
+            }
+            result -= digit;
+            length++;
+        }
+
+        if (length == start) {
+            throw new ParseException(block);
+        }
+
+        input.move(length);
+        return negative ? result : -result;
+    }
+
+    /**
+     * Find a decimal number of the format {@code [+-]?(<digits>[.<digits>]|.<digits>)([eE][+-]?<digits>)?} starting
+     * at the cursor. The cursor is not moved.
+     *
+     * @param input the input to look at
+     * @return the length of the number, or 0 if there is none
+     */
+    static int scanDecimal(Input input) {
+        int c = input.peek(0);
+        int length = c == '+' || c == '-' ? 1 : 0;
+
+        int digits = CharClass.DIGIT.span(input, length);
+        length += digits;
+        if (input.peek(length) == '.') {
+            int fraction = CharClass.DIGIT.span(input, length + 1);
+            if (digits > 0 || fraction > 0) {
+                length += 1 + fraction;
+                digits += fraction;
+            }
+        }
+
+        if (digits == 0) {
+            return 0;
+        }
+
+        // The exponent is only part of the number if it has at least one digit
+        c = input.peek(length);
+        if (c == 'e' || c == 'E') {
+            int exponentStart = length + 1;
+            c = input.peek(exponentStart);
+            if (c == '+' || c == '-') {
+                exponentStart++;
+            }
+            int exponentDigits = CharClass.DIGIT.span(input, exponentStart);
+            if (exponentDigits > 0) {
+                length = exponentStart + exponentDigits;
+            }
+        }
+
+        return length;
+    }
+
+    /**
+     * Build a parser's description, like "integer (between 1 and 10)".
+     *
+     * @param noun what is parsed
+     * @param min  the minimum value, or null if there is none
+     * @param max  the maximum value, or null if there is none
+     * @return the description
+     */
+    static String describe(String noun, Object min, Object max) {
+        if (min != null && max != null) {
+            return noun + " (between " + min + " and " + max + ")";
+        } else if (min != null) {
+            return noun + " (at least " + min + ")";
+        } else if (max != null) {
+            return noun + " (at most " + max + ")";
+        } else {
+            return noun;
+        }
+    }
+
+}
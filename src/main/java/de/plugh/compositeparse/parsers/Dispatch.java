@@ -0,0 +1,135 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A table that decides in which order the alternatives of an {@link Options} or {@link Decision} parser should be
+ * tried, based on the next character of the input and the alternatives' {@link FirstSet}s.
+ * <p>
+ * For each character, the alternatives that can start with it come first (in their original order), followed by all
+ * other alternatives (also in their original order). The other alternatives are only reached if all of the first ones
+ * failed, in which case they are still tried so that they show up in error messages. {@link #namingScheme(int[])}
+ * names the tried alternatives in their original order again, so that the order doesn't change the error messages.
+ * <p>
+ * This only gives the same result as trying the alternatives in their original order because {@link FirstSet}s are
+ * never too small. If an earlier alternative's set wrongly excluded a character, a later alternative would be tried
+ * before it and might succeed instead.
+ * <p>
+ * Each order is turned into a row (usually a parser that tries the alternatives in that order) when a character first
+ * needs it, so parsers that only ever see a few different characters only build a few rows.
+ *
+ * @param <R> type of the rows
+ */
+class Dispatch<R> {
+
+    private final List<FirstSet> firstSets;
+    private final Function<int[], R> rowFactory;
+
+    // Rows don't change once they are built, so threads that build the same row at the same time just waste a little
+    // work
+    private final Object[] ascii = new Object[128];
+    private Object other;
+    private Object end;
+
+    private Dispatch(List<FirstSet> firstSets, Function<int[], R> rowFactory) {
+        this.firstSets = firstSets;
+        this.rowFactory = rowFactory;
+    }
+
+    /**
+     * @param firstSets  the alternatives' {@link FirstSet}s, in their original order
+     * @param rowFactory turns an order into a row
+     * @return a new {@link Dispatch}, or null if the alternatives should just be tried in their original order
+     */
+    static <R> Dispatch<R> of(List<FirstSet> firstSets, Function<int[], R> rowFactory) {
+        // With so few alternatives, looking up the row costs about as much as trying one too many
+        if (firstSets.size() <= 2) {
+            return null;
+        }
+
+        // Nullable alternatives (including those with an unknown FirstSet) can start with any character
+        for (FirstSet firstSet : firstSets) {
+            if (!firstSet.isNullable()) {
+                return new Dispatch<>(firstSets, rowFactory);
+            }
+        }
+        return null;
+    }
+
+    private int[] order(int c) {
+        int[] order = new int[firstSets.size()];
+        int next = 0;
+
+        for (int i = 0; i < firstSets.size(); i++) {
+            if (firstSets.get(i).allows(c)) {
+                order[next++] = i;
+            }
+        }
+        for (int i = 0; i < firstSets.size(); i++) {
+            if (!firstSets.get(i).allows(c)) {
+                order[next++] = i;
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * @param c the next character of the input, or -1 at the end of the input
+     * @return the row for the order in which the alternatives should be tried
+     */
+    @SuppressWarnings("unchecked")
+    R row(int c) {
+        Object row;
+        if (c < 0) {
+            row = end;
+            if (row == null) {
+                row = end = rowFactory.apply(order(-1));
+            }
+        } else if (c < 128) {
+            row = ascii[c];
+            if (row == null) {
+                row = ascii[c] = rowFactory.apply(order(c));
+            }
+        } else {
+            row = other;
+            if (row == null) {
+                row = other = rowFactory.apply(order(128));
+            }
+        }
+        return (R) row;
+    }
+
+    /**
+     * @param order the order in which the alternatives are tried
+     * @return a naming scheme like {@link Block#alternative(List)} for a block whose sub-blocks are the alternatives,
+     * tried in that order
+     */
+    static Function<List<Block>, String> namingScheme(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            if (order[i] != i) {
+                return blocks -> Block.alternative(inOriginalOrder(blocks, order));
+            }
+        }
+        return Block::alternative;
+    }
+
+    private static List<Block> inOriginalOrder(List<Block> blocks, int[] order) {
+        // Only if every alternative was tried (and failed) is it clear which block belongs to which alternative
+        if (blocks.size() != order.length) {
+            return blocks;
+        }
+
+        Block[] sorted = new Block[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[order[i]] = blocks.get(i);
+        }
+        return Arrays.asList(sorted);
+    }
+
+}
@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 
@@ -14,6 +15,8 @@ import java.util.function.Function;
  */
 public class EndOfInput<T> implements Parser<T> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("end of input");
+
     private final T value;
 
     /**
@@ -34,7 +37,12 @@ public class EndOfInput<T> implements Parser<T> {
 
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("end of input");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FirstSet.NOTHING;
     }
 
     @Override
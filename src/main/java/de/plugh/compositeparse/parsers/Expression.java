@@ -1,39 +1,56 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.Input;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
-import de.plugh.compositeparse.StringInput;
+import de.plugh.compositeparse.PatternCache;
 
 import java.util.List;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
 /**
  * Parse a regular expression from the input.
+ * <p>
+ * The regular expression is compiled once, when the {@link Expression} is created, so an {@link Expression} should be
+ * reused instead of being re-created on every parse.
  */
 public class Expression implements Parser<String> {
 
-    private final String regex;
+    private final Pattern pattern;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Create a new {@link Expression} parser from an already compiled {@link Pattern}.
+     *
+     * @param pattern the regular expression to use
+     * @see Input#match(Pattern)
+     */
+    public Expression(Pattern pattern) {
+        this.pattern = pattern;
+        namingScheme = Block.label("regex \"" + pattern.pattern() + "\"");
+    }
 
     /**
      * Create a new {@link Expression} parser.
      *
      * @param regex the regular expression to use
-     * @see StringInput#match(String)
+     * @see Input#match(String)
      */
     public Expression(String regex) {
-        this.regex = regex;
+        this(PatternCache.get(regex));
     }
 
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("regex \"" + regex + "\"");
+        return namingScheme;
     }
 
     @Override
     public String read(Block block) throws ParseException {
-        StringInput input = block.getInput();
-        String result = input.match(regex);
+        Input input = block.getInput();
+        String result = input.match(pattern);
 
         if (result == null) {
             throw new ParseException(block);
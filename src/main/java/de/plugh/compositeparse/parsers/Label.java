@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 
@@ -16,7 +17,7 @@ import java.util.function.Function;
  */
 public class Label<T> implements Parser<T> {
 
-    private final String name;
+    private final Function<List<Block>, String> namingScheme;
     private final Parser<T> parser;
 
     /**
@@ -26,13 +27,18 @@ public class Label<T> implements Parser<T> {
      * @param parser the parser to rename
      */
     public Label(String name, Parser<T> parser) {
-        this.name = name;
+        namingScheme = Block.label(name);
         this.parser = parser;
     }
 
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label(name);
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
     }
 
     @Override
@@ -1,9 +1,10 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
-import de.plugh.compositeparse.StringInput;
 
 import java.util.List;
 import java.util.function.Function;
@@ -19,6 +20,7 @@ public class Literal<T> implements Parser<T> {
 
     private final String literal;
     private final T value;
+    private final Function<List<Block>, String> namingScheme;
 
     /**
      * Consume a string literal from the input and return a value if successful.
@@ -29,6 +31,7 @@ public class Literal<T> implements Parser<T> {
     public Literal(String literal, T value) {
         this.literal = literal;
         this.value = value;
+        namingScheme = Block.label("\"" + literal + "\"");
     }
 
     /**
@@ -54,12 +57,17 @@ public class Literal<T> implements Parser<T> {
 
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("\"" + literal + "\"");
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FirstSet.ofLiteral(literal);
     }
 
     @Override
     public T read(Block block) throws ParseException {
-        StringInput input = block.getInput();
+        Input input = block.getInput();
         if (input.read(literal.length()).equals(literal)) {
             return value;
         } else {
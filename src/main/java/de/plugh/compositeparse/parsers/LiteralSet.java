@@ -0,0 +1,236 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parses one of many string literals from the input, preferring the longest one that matches.
+ * <p>
+ * This does the same as an {@link Options} of {@link Literal}s (with the literals sorted longest first), but looks at
+ * each character of the input only once by walking a trie of all literals, and doesn't allocate anything while doing
+ * so. Use it for keywords, operators and the like.
+ *
+ * @param <T> return type of the parser
+ */
+public class LiteralSet<T> implements Parser<T> {
+
+    private final boolean caseInsensitive;
+    private final List<T> values;
+    private final Function<List<Block>, String> namingScheme;
+    private final FirstSet firstSet;
+
+    /*
+     * The trie is stored as arrays indexed by node (the root is node 0). Each
+     * node's outgoing edges are sorted by character, so they can be searched using
+     * a binary search. The arrays are built by a TrieBuilder and only assigned
+     * once they are complete, so that the fields can be final, and a LiteralSet
+     * can be shared between threads like any other parser.
+     */
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] nodeValues; // index into values, or -1 if no literal ends at this node
+
+    /**
+     * Create a new {@link LiteralSet}.
+     *
+     * @param literals        the literals to consume from the input, and the values to return for each of them
+     * @param caseInsensitive whether to ignore the case of the literals' characters
+     */
+    public LiteralSet(Map<String, T> literals, boolean caseInsensitive) {
+        this.caseInsensitive = caseInsensitive;
+        values = new ArrayList<>();
+
+        TrieBuilder trie = new TrieBuilder();
+        FirstSet firstSet = FirstSet.NONE;
+        for (Map.Entry<String, T> entry : literals.entrySet()) {
+            String literal = entry.getKey();
+            char[] folded = new char[literal.length()];
+            for (int i = 0; i < folded.length; i++) {
+                folded[i] = fold(literal.charAt(i));
+            }
+            trie.insert(folded, values.size());
+            values.add(entry.getValue());
+
+            firstSet = firstSet.union(FirstSet.ofLiteral(literal));
+            if (caseInsensitive && !literal.isEmpty()) {
+                // Every character that folds like the first one, using the same folding as the matching itself
+                char first = fold(literal.charAt(0));
+                for (char c = 0; c < 128; c++) {
+                    if (fold(c) == first) {
+                        firstSet = firstSet.union(FirstSet.range(c, c));
+                    }
+                }
+                // Some non-ASCII characters fold to ASCII ones (e. g. the Kelvin sign to "k")
+                firstSet = firstSet.union(FirstSet.range('\u0080', '\uFFFF'));
+            }
+        }
+        this.firstSet = firstSet;
+
+        edgeChars = Arrays.copyOf(trie.edgeChars, trie.nodeCount);
+        edgeTargets = Arrays.copyOf(trie.edgeTargets, trie.nodeCount);
+        nodeValues = Arrays.copyOf(trie.nodeValues, trie.nodeCount);
+
+        String name = literals.keySet().stream()
+                .map(literal -> "\"" + literal + "\"")
+                .collect(Collectors.joining(" or "));
+        namingScheme = Block.label(name);
+    }
+
+    /**
+     * Create a new case sensitive {@link LiteralSet}.
+     *
+     * @param literals the literals to consume from the input, and the values to return for each of them
+     */
+    public LiteralSet(Map<String, T> literals) {
+        this(literals, false);
+    }
+
+    /**
+     * Create a {@link LiteralSet} that returns (literally) the literal it consumes.
+     *
+     * @param literals the literals to consume from the input
+     * @return the {@link LiteralSet}
+     */
+    public static LiteralSet<String> literally(String... literals) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String literal : literals) {
+            map.put(literal, literal);
+        }
+        return new LiteralSet<>(map);
+    }
+
+    private char fold(int c) {
+        if (caseInsensitive) {
+            return Character.toLowerCase(Character.toUpperCase((char) c));
+        } else {
+            return (char) c;
+        }
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return firstSet;
+    }
+
+    @Override
+    public T read(Block block) throws ParseException {
+        Input input = block.getInput();
+
+        int node = 0;
+        int matchedValue = nodeValues[0];
+        int matchedLength = 0;
+
+        for (int length = 0; ; length++) {
+            int c = input.peek(length);
+            if (c < 0) {
+                break;
+            }
+
+            int edge = Arrays.binarySearch(edgeChars[node], fold(c));
+            if (edge < 0) {
+                break;
+            }
+
+            node = edgeTargets[node][edge];
+            if (nodeValues[node] >= 0) {
+                matchedValue = nodeValues[node];
+                matchedLength = length + 1;
+            }
+        }
+
+        if (matchedValue < 0) {
+            throw new ParseException(block);
+        }
+
+        input.move(matchedLength);
+        return values.get(matchedValue);
+    }
+
+    /**
+     * Collects the trie's nodes and edges while the literals are inserted one by one.
+     */
+    private static class TrieBuilder {
+
+        char[][] edgeChars = new char[16][];
+        int[][] edgeTargets = new int[16][];
+        int[] nodeValues = new int[16];
+        int nodeCount;
+
+        TrieBuilder() {
+            addNode();
+        }
+
+        private int addNode() {
+            if (nodeCount == nodeValues.length) {
+                edgeChars = Arrays.copyOf(edgeChars, nodeCount * 2);
+                edgeTargets = Arrays.copyOf(edgeTargets, nodeCount * 2);
+                nodeValues = Arrays.copyOf(nodeValues, nodeCount * 2);
+            }
+
+            edgeChars[nodeCount] = new char[0];
+            edgeTargets[nodeCount] = new int[0];
+            nodeValues[nodeCount] = -1;
+            return nodeCount++;
+        }
+
+        /**
+         * @param literal the literal, with all characters already folded
+         * @param value   the index of the literal's value
+         */
+        void insert(char[] literal, int value) {
+            int node = 0;
+            for (char c : literal) {
+                int edge = Arrays.binarySearch(edgeChars[node], c);
+
+                if (edge >= 0) {
+                    node = edgeTargets[node][edge];
+                } else {
+                    int target = addNode();
+                    int position = -edge - 1;
+                    edgeChars[node] = insertAt(edgeChars[node], position, c);
+                    edgeTargets[node] = insertAt(edgeTargets[node], position, target);
+                    node = target;
+                }
+            }
+
+            // If two literals are the same (ignoring case), the first one wins, just like in Options
+            if (nodeValues[node] < 0) {
+                nodeValues[node] = value;
+            }
+        }
+
+        private static char[] insertAt(char[] array, int position, char element) {
+            char[] result = new char[array.length + 1];
+            System.arraycopy(array, 0, result, 0, position);
+            result[position] = element;
+            System.arraycopy(array, position, result, position + 1, array.length - position);
+            return result;
+        }
+
+        private static int[] insertAt(int[] array, int position, int element) {
+            int[] result = new int[array.length + 1];
+            System.arraycopy(array, 0, result, 0, position);
+            result[position] = element;
+            System.arraycopy(array, position, result, position + 1, array.length - position);
+            return result;
+        }
+
+    }
+
+}
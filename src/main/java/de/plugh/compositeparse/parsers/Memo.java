@@ -0,0 +1,121 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Remembers the result of a parser at each input position, so that it runs at most once per position (packrat
+ * parsing).
+ * <p>
+ * This is useful when backtracking makes the same parser run at the same position over and over again, e. g. in nested
+ * {@link Options} or {@link Decision}s whose alternatives start the same way. Both successes and failures are
+ * remembered, for the duration of a single top-level parse.
+ * <p>
+ * Only wrap parsers whose result depends on nothing but the input at their position. Results are shared, so they
+ * should not be modified. Two {@link Memo}s wrapping the same parser share their results, so a {@link Memo} can be
+ * created on the fly inside another parser's {@link Parser#read(Block)}.
+ * <p>
+ * When profiling (see {@link de.plugh.compositeparse.Profiler}), calls answered from the cache are listed as
+ * {@code Memo$Entry}.
+ *
+ * @param <T> return type of the parser
+ */
+public class Memo<T> implements Parser<T> {
+
+    private final Parser<T> parser;
+
+    /**
+     * Create a new {@link Memo} parser.
+     *
+     * @param parser the parser whose results to remember
+     */
+    public Memo(Parser<T> parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return parser.getFirstSet();
+    }
+
+    @Override
+    public T parse(Block block) throws ParseException {
+        IntMap<Entry<T>> entries = block.getParseLocal(this, IntMap::new);
+        Entry<T> entry = entries.get(block.getInput().getCursor());
+
+        if (entry == null) {
+            return Parser.super.parse(block);
+        } else {
+            return entry.parse(block);
+        }
+    }
+
+    @Override
+    public T read(Block block) throws ParseException {
+        IntMap<Entry<T>> entries = block.getParseLocal(this, IntMap::new);
+
+        try {
+            T result = parser.parse(block);
+            entries.put(block.getInitialCursor(), new Entry<>(block, result, block.getInput().getCursor(), null));
+            return result;
+        } catch (ParseException e) {
+            entries.put(block.getInitialCursor(), new Entry<>(block, null, block.getInitialCursor(), e));
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        // Memos wrapping the same parser share their results (see getParseLocal() in parse())
+        if (this == obj) return true;
+        if (obj == null) return false;
+        if (getClass() != obj.getClass()) return false;
+        return parser == ((Memo<?>) obj).parser;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(parser);
+    }
+
+    /**
+     * A remembered result, which can be replayed like a parser.
+     */
+    private static class Entry<T> implements Parser<T> {
+
+        private final Function<List<Block>, String> namingScheme;
+        private final T result;
+        private final int end;
+        private final ParseException failure;
+
+        Entry(Block block, T result, int end, ParseException failure) {
+            // Name the replayed block like the block of the original parse
+            namingScheme = ignored -> block.getName();
+            this.result = result;
+            this.end = end;
+            this.failure = failure;
+        }
+
+        @Override
+        public Function<List<Block>, String> getNamingScheme() {
+            return namingScheme;
+        }
+
+        @Override
+        public T read(Block block) throws ParseException {
+            if (failure != null) {
+                throw failure;
+            }
+
+            block.getInput().setCursor(end);
+            return result;
+        }
+
+    }
+
+}
@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 
@@ -11,12 +12,18 @@ import java.util.function.Function;
 
 /**
  * Try a few parsers in order (backtracking if a parser fails) and return the result of the first successful parser.
+ * <p>
+ * Parsers that can't start with the next character of the input (according to their {@link FirstSet}) are skipped and
+ * only tried once all other parsers have failed, so that they still appear in the error message. The error message
+ * names the parsers in the order they were passed in, no matter in which order they were tried.
  *
  * @param <T> return type of the parser
  */
 public class Options<T> implements Parser<T> {
 
-    private final List<Parser<T>> parsers;
+    private final List<Parser<? extends T>> parsers;
+    private Dispatch<Ordered> dispatch;
+    private volatile boolean dispatchBuilt;
 
     /**
      * Create a new {@link Options} from all passed parsers.
@@ -24,7 +31,7 @@ public class Options<T> implements Parser<T> {
      * @param parsers the parsers to try.
      */
     @SafeVarargs
-    public Options(Parser<T>... parsers) {
+    public Options(Parser<? extends T>... parsers) {
         this.parsers = new ArrayList<>();
         Collections.addAll(this.parsers, parsers);
     }
@@ -34,18 +41,48 @@ public class Options<T> implements Parser<T> {
      *
      * @param parsers the parsers to try.
      */
-    public Options(List<Parser<T>> parsers) {
+    public Options(List<? extends Parser<? extends T>> parsers) {
         this.parsers = new ArrayList<>(parsers);
     }
 
+    private Dispatch<Ordered> getDispatch() {
+        // Computed lazily, since many Options are only created to be used once
+        if (!dispatchBuilt) {
+            List<FirstSet> firstSets = new ArrayList<>();
+            parsers.forEach(parser -> firstSets.add(parser.getFirstSet()));
+            dispatch = Dispatch.of(firstSets, Ordered::new);
+            dispatchBuilt = true;
+        }
+        return dispatch;
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
         return Block::alternative;
     }
 
+    @Override
+    public FirstSet getFirstSet() {
+        FirstSet result = FirstSet.NONE;
+        for (Parser<? extends T> parser : parsers) {
+            result = result.union(parser.getFirstSet());
+        }
+        return result;
+    }
+
+    @Override
+    public T parse(Block block) throws ParseException {
+        Dispatch<Ordered> dispatch = getDispatch();
+        if (dispatch == null) {
+            return Parser.super.parse(block);
+        } else {
+            return dispatch.row(block.getInput().peek(0)).parse(block);
+        }
+    }
+
     @Override
     public T read(Block block) throws ParseException {
-        for (Parser<T> parser : parsers) {
+        for (Parser<? extends T> parser : parsers) {
             try {
                 return parser.parse(block);
             } catch (ParseException ignored) {
@@ -55,4 +92,36 @@ public class Options<T> implements Parser<T> {
         throw new ParseException(block);
     }
 
+    /**
+     * Tries the parsers in the order a {@link Dispatch} chose for one character.
+     */
+    private class Ordered implements Parser<T> {
+
+        private final int[] order;
+        private final Function<List<Block>, String> namingScheme;
+
+        Ordered(int[] order) {
+            this.order = order;
+            namingScheme = Dispatch.namingScheme(order);
+        }
+
+        @Override
+        public Function<List<Block>, String> getNamingScheme() {
+            return namingScheme;
+        }
+
+        @Override
+        public T read(Block block) throws ParseException {
+            for (int i : order) {
+                try {
+                    return parsers.get(i).parse(block);
+                } catch (ParseException ignored) {
+                }
+            }
+
+            throw new ParseException(block);
+        }
+
+    }
+
 }
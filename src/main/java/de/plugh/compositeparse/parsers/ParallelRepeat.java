@@ -0,0 +1,195 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.CharSequenceInput;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Repeats a parser until the end of the input, like a {@link Repeat} followed by an {@link EndOfInput}, but parses
+ * multiple parts of the input at once on a {@link ForkJoinPool}.
+ * <p>
+ * The input is split into chunks right after boundary characters, and each chunk is parsed as a sequence of elements
+ * with separators in-between (and optionally after the last element) using an input and {@link Block} structure of its
+ * own. This only gives the same result as parsing the input sequentially if every boundary character ends an element's
+ * separator, e. g. if the elements are lines and the separator and boundary are the newline character. The results of
+ * all chunks are then put together in the order in which they appear in the input.
+ * <p>
+ * Since all chunks view the same {@link CharSequence}, positions in {@link ParseException}s refer to the whole input.
+ * If more than one chunk fails, the exception of the first one is thrown.
+ * <p>
+ * Only {@link CharSequenceInput}s (and the inputs based on them) can be split. All other inputs are parsed sequentially
+ * on the calling thread. The parser and separator are used from multiple threads at once, so they must not have any
+ * mutable state (which parsers shouldn't have anyway).
+ * <p>
+ * Each chunk is parsed in a top-level {@link Block} of its own, since the bookkeeping of a parse can't be shared
+ * between threads. A {@link de.plugh.compositeparse.Profiler}, {@link de.plugh.compositeparse.BacktrackHeatMap} or
+ * {@link de.plugh.compositeparse.FurthestFailure} of the calling parse therefore doesn't see any of the work done
+ * within the chunks, unless the input is parsed sequentially. To profile the parser, profile it on a single chunk or
+ * with a {@link Repeat} instead.
+ *
+ * @param <T> return type of the parser
+ */
+public class ParallelRepeat<T> implements Parser<List<T>> {
+
+    // Smaller chunks aren't worth the overhead of a separate task
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    private static final EndOfInput<Void> END = new EndOfInput<>();
+
+    private final CharClass boundaries;
+    private final ForkJoinPool pool;
+
+    // Used to parse a whole input sequentially, or a single (non-empty) chunk of it
+    private final Repeat<T> elements;
+    private final Repeat<T> chunkElements;
+    private final Default<?> trailingSeparator;
+
+    /**
+     * Create a new {@link ParallelRepeat} parser.
+     *
+     * @param separator  the parser that separates the main parser (or null)
+     * @param parser     the parser to repeatedly use
+     * @param boundaries the characters after which the input may be split
+     * @param pool       the pool to parse the chunks on
+     */
+    public ParallelRepeat(Parser<?> separator, Parser<T> parser, CharClass boundaries, ForkJoinPool pool) {
+        this.boundaries = boundaries;
+        this.pool = pool;
+
+        elements = Repeat.atLeast(0, separator, parser);
+        chunkElements = Repeat.atLeast(1, separator, parser);
+        trailingSeparator = separator == null ? null : new Default<>(null, separator);
+    }
+
+    /**
+     * Create a new {@link ParallelRepeat} parser that uses the {@link ForkJoinPool#commonPool() common pool}.
+     *
+     * @param separator  the parser that separates the main parser (or null)
+     * @param parser     the parser to repeatedly use
+     * @param boundaries the characters after which the input may be split
+     */
+    public ParallelRepeat(Parser<?> separator, Parser<T> parser, CharClass boundaries) {
+        this(separator, parser, boundaries, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a new {@link ParallelRepeat} parser for elements separated by a single character (e. g. lines separated by
+     * newlines). The input is split after that character.
+     *
+     * @param separator the character that separates the elements
+     * @param parser    the parser to repeatedly use
+     */
+    public ParallelRepeat(char separator, Parser<T> parser) {
+        this(Literal.literally(String.valueOf(separator)), parser, CharClass.of(String.valueOf(separator)));
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return elements.getFirstSet();
+    }
+
+    @Override
+    public List<T> read(Block block) throws ParseException {
+        Input input = block.getInput();
+        if (!(input instanceof CharSequenceInput)) {
+            return parseChunk(block, elements);
+        }
+
+        CharSequenceInput whole = (CharSequenceInput) input;
+        List<Integer> bounds = split(whole);
+        if (bounds.size() <= 2) {
+            return parseChunk(block, elements);
+        }
+
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.size(); i++) {
+            CharSequenceInput chunk = whole.region(bounds.get(i), bounds.get(i + 1));
+            // Every chunk is non-empty, so it must contain at least one element
+            tasks.add(pool.submit(() -> parseChunk(new Block(chunk), chunkElements)));
+        }
+
+        List<T> results = new ArrayList<>();
+        try {
+            for (ForkJoinTask<List<T>> task : tasks) {
+                results.addAll(join(task));
+            }
+        } finally {
+            // Only does something if a chunk failed
+            tasks.forEach(task -> task.cancel(false));
+        }
+
+        whole.setCursor(whole.getEnd());
+        return results;
+    }
+
+    /**
+     * Find the positions where the rest of the input is split, including its beginning and end.
+     */
+    private List<Integer> split(CharSequenceInput input) {
+        int start = input.getCursor();
+        int end = input.getEnd();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, (end - start) / (pool.getParallelism() * 4));
+
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(start);
+
+        int chunkStart = start;
+        while (chunkStart < end) {
+            int position = (int) Math.min(end, (long) chunkStart + chunkSize);
+            while (position < end && !boundaries.contains(input.peek(position - start))) {
+                position++;
+            }
+
+            // Split right after the boundary character
+            int chunkEnd = Math.min(end, position + 1);
+            bounds.add(chunkEnd);
+            chunkStart = chunkEnd;
+        }
+
+        return bounds;
+    }
+
+    private List<T> parseChunk(Block block, Repeat<T> repeat) throws ParseException {
+        List<T> results = repeat.parse(block);
+        if (trailingSeparator != null) {
+            trailingSeparator.parse(block);
+        }
+        END.parse(block);
+        return results;
+    }
+
+    private static <T> List<T> join(ForkJoinTask<List<T>> task) throws ParseException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            // The pool wraps checked exceptions (sometimes more than once)
+            for (Throwable wrapped = e.getCause(); wrapped != null; wrapped = wrapped.getCause()) {
+                if (wrapped instanceof ParseException) {
+                    throw (ParseException) wrapped;
+                }
+            }
+
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new IllegalStateException(cause);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a chunk to be parsed");
+        }
+    }
+
+}
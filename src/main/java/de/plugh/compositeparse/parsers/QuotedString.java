@@ -1,15 +1,18 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
-import de.plugh.compositeparse.StringInput;
 
 import java.util.List;
 import java.util.function.Function;
 
 public class QuotedString implements Parser<String> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("quoted string");
+
     private final String quoteChar;
 
     public QuotedString(String quoteChar) {
@@ -22,7 +25,12 @@ public class QuotedString implements Parser<String> {
 
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("quoted string");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FirstSet.ofLiteral(quoteChar);
     }
 
     @Override
@@ -32,7 +40,7 @@ public class QuotedString implements Parser<String> {
         StringBuilder result = new StringBuilder();
         boolean escaped = false;
         while (true) {
-            StringInput input = block.getInput();
+            Input input = block.getInput();
             String s = input.read(1);
 
             if (s.isEmpty()) {
@@ -1,11 +1,14 @@
 package de.plugh.compositeparse.parsers;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Repeats a parser a certain amount of times and compiles the results in a {@link List}.
@@ -20,6 +23,7 @@ public class Repeat<T> implements Parser<List<T>> {
     private final Parser<T> parser;
     private final int from;
     private final int to;
+    private final int capacity;
 
     /**
      * Create a new {@link Repeat} parser.
@@ -32,11 +36,15 @@ public class Repeat<T> implements Parser<List<T>> {
     public Repeat(int from, int to, Parser<?> separator, Parser<T> parser) {
         // Just in case somebody enters incorrect values, attempt to interpret them as
         // best as possible.
-        this.from = Math.max(0, Math.min(from, to));
-        this.to = Math.max(0, Math.max(from, to));
+        this(Math.max(0, Math.min(from, to)), Math.max(0, Math.max(from, to)), separator, parser, 0);
+    }
 
+    private Repeat(int from, int to, Parser<?> separator, Parser<T> parser, int capacity) {
+        this.from = from;
+        this.to = to;
         this.separator = separator;
         this.parser = parser;
+        this.capacity = capacity;
     }
 
     /**
@@ -144,66 +152,60 @@ public class Repeat<T> implements Parser<List<T>> {
         return new Repeat<>(amount, amount, parser);
     }
 
-    @Override
-    public List<T> read(Block block) throws ParseException {
-        List<T> results = new ArrayList<>();
-
-        if (from > 0) {
-            // The first element, not preceded by a "between"
-            results.add(parser.parse(block));
-
-            // All other elements, preceded by a "between"
-            results.addAll(parseRequired(block, from - 1));
-            results.addAll(parseOptional(block, to - from));
-        } else if (to > 0) {
-            // The first element, not preceded by a "between"
-            try {
-                results.add(parser.parse(block));
-            } catch (ParseException e) {
-                return results; // empty list
-            }
-
-            // All other elements, preceded by a "between"
-            results.addAll(parseOptional(block, to - 1)); // from == 0
-        }
-
-        return results;
+    /**
+     * Presize the resulting {@link List}, so it doesn't need to grow while elements are added.
+     *
+     * @param capacity how many elements are expected
+     * @return a copy of this {@link Repeat} with the capacity hint
+     */
+    public Repeat<T> withCapacity(int capacity) {
+        return new Repeat<>(from, to, separator, parser, capacity);
     }
 
-    private void parseBetween(Block block) throws ParseException {
-        if (separator != null) {
-            separator.parse(block);
+    @Override
+    public FirstSet getFirstSet() {
+        if (from == 0) {
+            return parser.getFirstSet().orNothing();
+        } else {
+            return parser.getFirstSet();
         }
     }
 
-    private List<T> parseRequired(Block block, int amount) throws ParseException {
-        List<T> results = new ArrayList<>();
-
-        for (int i = 0; i < amount; i++) {
-            parseBetween(block);
-            results.add(parser.parse(block));
-        }
-
+    @Override
+    public List<T> read(Block block) throws ParseException {
+        List<T> results = capacity > 0 ? new ArrayList<>(capacity) : new ArrayList<>();
+        parseAll(block, from, to, separator, parser, results::add);
         return results;
     }
 
-    private List<T> parseOptional(Block block, int amount) {
-        List<T> results = new ArrayList<>();
+    /**
+     * Parse between from and to elements (with separators in-between) and pass each of them to a consumer.
+     * <p>
+     * If the separator succeeds but the following element doesn't, the cursor is reset to before the separator. This
+     * is done by hand instead of wrapping each separator and element in a {@link Block} of their own.
+     */
+    static <T> void parseAll(Block block, int from, int to, Parser<?> separator, Parser<T> parser,
+                             Consumer<? super T> consumer) throws ParseException {
+        Input input = block.getInput();
 
-        for (int i = 0; i < amount; i++) {
+        for (int count = 0; count < to; count++) {
+            int mark = input.getCursor();
+            T result;
             try {
-                T result = ((Parser<T>) block2 -> {
-                    parseBetween(block2);
-                    return parser.parse(block2);
-                }).parse(block);
-
-                results.add(result);
+                // The first element is not preceded by a separator
+                if (count > 0 && separator != null) {
+                    separator.parse(block);
+                }
+                result = parser.parse(block);
             } catch (ParseException e) {
-                break;
+                if (count < from) {
+                    throw e;
+                }
+                block.rewind(mark);
+                return;
             }
+            consumer.accept(result);
         }
-
-        return results;
     }
 
 }
@@ -0,0 +1,109 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.DoubleParser;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.Arrays;
+
+/**
+ * Like {@link Repeat}, but collects the results of an {@link DoubleParser} into a {@code double[]} without boxing them.
+ */
+public class RepeatDouble implements Parser<double[]> {
+
+    private final Parser<?> separator;
+    private final DoubleParser parser;
+    private final int from;
+    private final int to;
+
+    /**
+     * Create a new {@link RepeatDouble} parser.
+     *
+     * @param from      minimum amount of repeats
+     * @param to        maximum amount of repeats
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     */
+    public RepeatDouble(int from, int to, Parser<?> separator, DoubleParser parser) {
+        this.from = Math.max(0, Math.min(from, to));
+        this.to = Math.max(0, Math.max(from, to));
+
+        this.separator = separator;
+        this.parser = parser;
+    }
+
+    /**
+     * Create a new {@link RepeatDouble} parser (without separators).
+     *
+     * @param from   minimum amount of repeats
+     * @param to     maximum amount of repeats
+     * @param parser the parser to repeatedly use
+     */
+    public RepeatDouble(int from, int to, DoubleParser parser) {
+        this(from, to, null, parser);
+    }
+
+    /**
+     * Create a new {@link RepeatDouble} parser that repeats zero or more times.
+     *
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     */
+    public RepeatDouble(Parser<?> separator, DoubleParser parser) {
+        this(0, Integer.MAX_VALUE, separator, parser);
+    }
+
+    /**
+     * Create a new {@link RepeatDouble} parser that repeats zero or more times (without separator).
+     *
+     * @param parser the parser to repeatedly use
+     */
+    public RepeatDouble(DoubleParser parser) {
+        this(null, parser);
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        if (from == 0) {
+            return parser.getFirstSet().orNothing();
+        } else {
+            return parser.getFirstSet();
+        }
+    }
+
+    @Override
+    public double[] read(Block block) throws ParseException {
+        Input input = block.getInput();
+        double[] results = new double[Math.min(to, 16)];
+        int count = 0;
+
+        while (count < to) {
+            // If the separator succeeds but the element doesn't, the separator must be undone as well
+            int mark = input.getCursor();
+            double result;
+            try {
+                if (count > 0 && separator != null) {
+                    separator.parse(block);
+                }
+                result = parser.parseDouble(block);
+            } catch (ParseException e) {
+                if (count < from) {
+                    throw e;
+                }
+                block.rewind(mark);
+                break;
+            }
+
+            if (count == results.length) {
+                results = Arrays.copyOf(results, Math.max(16, results.length * 2));
+            }
+            results[count++] = result;
+        }
+
+        return count == results.length ? results : Arrays.copyOf(results, count);
+    }
+
+}
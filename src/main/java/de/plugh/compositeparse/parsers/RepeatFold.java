@@ -0,0 +1,100 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Like {@link Repeat}, but folds the results into a {@link Collector} as they are parsed instead of compiling them in a
+ * {@link java.util.List} first.
+ * <p>
+ * For example, {@code new RepeatFold<>(new BoundedInteger(), Collectors.summingInt(i -> i))} sums up integers without
+ * keeping any of them around.
+ *
+ * @param <T> return type of the repeated parser
+ * @param <A> the collector's accumulation type
+ * @param <R> return type of the parser
+ */
+public class RepeatFold<T, A, R> implements Parser<R> {
+
+    private final Parser<?> separator;
+    private final Parser<T> parser;
+    private final Collector<? super T, A, R> collector;
+    private final int from;
+    private final int to;
+
+    /**
+     * Create a new {@link RepeatFold} parser.
+     *
+     * @param from      minimum amount of repeats
+     * @param to        maximum amount of repeats
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     * @param collector what to do with the results
+     */
+    public RepeatFold(int from, int to, Parser<?> separator, Parser<T> parser, Collector<? super T, A, R> collector) {
+        this.from = Math.max(0, Math.min(from, to));
+        this.to = Math.max(0, Math.max(from, to));
+
+        this.separator = separator;
+        this.parser = parser;
+        this.collector = collector;
+    }
+
+    /**
+     * Create a new {@link RepeatFold} parser (without separators).
+     *
+     * @param from      minimum amount of repeats
+     * @param to        maximum amount of repeats
+     * @param parser    the parser to repeatedly use
+     * @param collector what to do with the results
+     */
+    public RepeatFold(int from, int to, Parser<T> parser, Collector<? super T, A, R> collector) {
+        this(from, to, null, parser, collector);
+    }
+
+    /**
+     * Create a new {@link RepeatFold} parser that repeats zero or more times.
+     *
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     * @param collector what to do with the results
+     */
+    public RepeatFold(Parser<?> separator, Parser<T> parser, Collector<? super T, A, R> collector) {
+        this(0, Integer.MAX_VALUE, separator, parser, collector);
+    }
+
+    /**
+     * Create a new {@link RepeatFold} parser that repeats zero or more times (without separator).
+     *
+     * @param parser    the parser to repeatedly use
+     * @param collector what to do with the results
+     */
+    public RepeatFold(Parser<T> parser, Collector<? super T, A, R> collector) {
+        this(null, parser, collector);
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        if (from == 0) {
+            return parser.getFirstSet().orNothing();
+        } else {
+            return parser.getFirstSet();
+        }
+    }
+
+    @Override
+    public R read(Block block) throws ParseException {
+        A container = collector.supplier().get();
+        BiConsumer<A, ? super T> accumulator = collector.accumulator();
+
+        Repeat.parseAll(block, from, to, separator, parser, result -> accumulator.accept(container, result));
+
+        return collector.finisher().apply(container);
+    }
+
+}
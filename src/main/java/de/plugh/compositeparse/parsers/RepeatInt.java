@@ -0,0 +1,109 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.IntParser;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.Arrays;
+
+/**
+ * Like {@link Repeat}, but collects the results of an {@link IntParser} into a {@code int[]} without boxing them.
+ */
+public class RepeatInt implements Parser<int[]> {
+
+    private final Parser<?> separator;
+    private final IntParser parser;
+    private final int from;
+    private final int to;
+
+    /**
+     * Create a new {@link RepeatInt} parser.
+     *
+     * @param from      minimum amount of repeats
+     * @param to        maximum amount of repeats
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     */
+    public RepeatInt(int from, int to, Parser<?> separator, IntParser parser) {
+        this.from = Math.max(0, Math.min(from, to));
+        this.to = Math.max(0, Math.max(from, to));
+
+        this.separator = separator;
+        this.parser = parser;
+    }
+
+    /**
+     * Create a new {@link RepeatInt} parser (without separators).
+     *
+     * @param from   minimum amount of repeats
+     * @param to     maximum amount of repeats
+     * @param parser the parser to repeatedly use
+     */
+    public RepeatInt(int from, int to, IntParser parser) {
+        this(from, to, null, parser);
+    }
+
+    /**
+     * Create a new {@link RepeatInt} parser that repeats zero or more times.
+     *
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     */
+    public RepeatInt(Parser<?> separator, IntParser parser) {
+        this(0, Integer.MAX_VALUE, separator, parser);
+    }
+
+    /**
+     * Create a new {@link RepeatInt} parser that repeats zero or more times (without separator).
+     *
+     * @param parser the parser to repeatedly use
+     */
+    public RepeatInt(IntParser parser) {
+        this(null, parser);
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        if (from == 0) {
+            return parser.getFirstSet().orNothing();
+        } else {
+            return parser.getFirstSet();
+        }
+    }
+
+    @Override
+    public int[] read(Block block) throws ParseException {
+        Input input = block.getInput();
+        int[] results = new int[Math.min(to, 16)];
+        int count = 0;
+
+        while (count < to) {
+            // If the separator succeeds but the element doesn't, the separator must be undone as well
+            int mark = input.getCursor();
+            int result;
+            try {
+                if (count > 0 && separator != null) {
+                    separator.parse(block);
+                }
+                result = parser.parseInt(block);
+            } catch (ParseException e) {
+                if (count < from) {
+                    throw e;
+                }
+                block.rewind(mark);
+                break;
+            }
+
+            if (count == results.length) {
+                results = Arrays.copyOf(results, Math.max(16, results.length * 2));
+            }
+            results[count++] = result;
+        }
+
+        return count == results.length ? results : Arrays.copyOf(results, count);
+    }
+
+}
@@ -0,0 +1,109 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.LongParser;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.Arrays;
+
+/**
+ * Like {@link Repeat}, but collects the results of an {@link LongParser} into a {@code long[]} without boxing them.
+ */
+public class RepeatLong implements Parser<long[]> {
+
+    private final Parser<?> separator;
+    private final LongParser parser;
+    private final int from;
+    private final int to;
+
+    /**
+     * Create a new {@link RepeatLong} parser.
+     *
+     * @param from      minimum amount of repeats
+     * @param to        maximum amount of repeats
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     */
+    public RepeatLong(int from, int to, Parser<?> separator, LongParser parser) {
+        this.from = Math.max(0, Math.min(from, to));
+        this.to = Math.max(0, Math.max(from, to));
+
+        this.separator = separator;
+        this.parser = parser;
+    }
+
+    /**
+     * Create a new {@link RepeatLong} parser (without separators).
+     *
+     * @param from   minimum amount of repeats
+     * @param to     maximum amount of repeats
+     * @param parser the parser to repeatedly use
+     */
+    public RepeatLong(int from, int to, LongParser parser) {
+        this(from, to, null, parser);
+    }
+
+    /**
+     * Create a new {@link RepeatLong} parser that repeats zero or more times.
+     *
+     * @param separator the parser that separates the main parser
+     * @param parser    the parser to repeatedly use
+     */
+    public RepeatLong(Parser<?> separator, LongParser parser) {
+        this(0, Integer.MAX_VALUE, separator, parser);
+    }
+
+    /**
+     * Create a new {@link RepeatLong} parser that repeats zero or more times (without separator).
+     *
+     * @param parser the parser to repeatedly use
+     */
+    public RepeatLong(LongParser parser) {
+        this(null, parser);
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        if (from == 0) {
+            return parser.getFirstSet().orNothing();
+        } else {
+            return parser.getFirstSet();
+        }
+    }
+
+    @Override
+    public long[] read(Block block) throws ParseException {
+        Input input = block.getInput();
+        long[] results = new long[Math.min(to, 16)];
+        int count = 0;
+
+        while (count < to) {
+            // If the separator succeeds but the element doesn't, the separator must be undone as well
+            int mark = input.getCursor();
+            long result;
+            try {
+                if (count > 0 && separator != null) {
+                    separator.parse(block);
+                }
+                result = parser.parseLong(block);
+            } catch (ParseException e) {
+                if (count < from) {
+                    throw e;
+                }
+                block.rewind(mark);
+                break;
+            }
+
+            if (count == results.length) {
+                results = Arrays.copyOf(results, Math.max(16, results.length * 2));
+            }
+            results[count++] = result;
+        }
+
+        return count == results.length ? results : Arrays.copyOf(results, count);
+    }
+
+}
@@ -0,0 +1,74 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Skips as many characters of a {@link CharClass} as possible and returns how many were skipped. Unlike
+ * {@link TakeWhile}, this doesn't copy the skipped characters into a {@link String}, so use it for whitespace and other
+ * things that are thrown away.
+ *
+ * @see TakeWhile
+ * @see TakeWhile1
+ */
+public class SkipWhile implements Parser<Integer> {
+
+    private final CharClass charClass;
+    private final int min;
+    private final FirstSet firstSet;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Create a new {@link SkipWhile} parser that fails if fewer than min characters can be skipped.
+     *
+     * @param charClass the characters to skip
+     * @param min       how many characters to skip at least
+     */
+    public SkipWhile(CharClass charClass, int min) {
+        this.charClass = charClass;
+        this.min = min;
+
+        FirstSet firstSet = charClass.toFirstSet();
+        this.firstSet = min > 0 ? firstSet : firstSet.orNothing();
+        namingScheme = Block.label(charClass.getName());
+    }
+
+    /**
+     * Create a new {@link SkipWhile} parser that never fails.
+     *
+     * @param charClass the characters to skip
+     */
+    public SkipWhile(CharClass charClass) {
+        this(charClass, 0);
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return firstSet;
+    }
+
+    @Override
+    public Integer read(Block block) throws ParseException {
+        Input input = block.getInput();
+        int skipped = charClass.span(input, 0);
+
+        if (skipped < min) {
+            throw new ParseException(block);
+        }
+
+        input.move(skipped);
+        return skipped;
+    }
+
+}
@@ -0,0 +1,51 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parses as many characters of a {@link CharClass} as possible (possibly none) and returns them. This never fails.
+ *
+ * @see TakeWhile1
+ * @see SkipWhile
+ */
+public class TakeWhile implements Parser<String> {
+
+    private final CharClass charClass;
+    private final FirstSet firstSet;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Create a new {@link TakeWhile} parser.
+     *
+     * @param charClass the characters to consume
+     */
+    public TakeWhile(CharClass charClass) {
+        this.charClass = charClass;
+        firstSet = charClass.toFirstSet().orNothing();
+        namingScheme = Block.label(charClass.getName());
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return firstSet;
+    }
+
+    @Override
+    public String read(Block block) throws ParseException {
+        Input input = block.getInput();
+        return input.read(charClass.span(input, 0));
+    }
+
+}
@@ -0,0 +1,71 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Parses at least one character of a {@link CharClass}, and then as many more as possible, and returns them.
+ * <p>
+ * The first character may come from a different class than the rest, which is useful for identifiers (e. g. a letter
+ * followed by letters and digits).
+ *
+ * @see TakeWhile
+ * @see SkipWhile
+ */
+public class TakeWhile1 implements Parser<String> {
+
+    private final CharClass head;
+    private final CharClass tail;
+    private final FirstSet firstSet;
+    private final Function<List<Block>, String> namingScheme;
+
+    /**
+     * Create a new {@link TakeWhile1} parser.
+     *
+     * @param head the characters allowed as the first character
+     * @param tail the characters allowed after the first character
+     */
+    public TakeWhile1(CharClass head, CharClass tail) {
+        this.head = head;
+        this.tail = tail;
+        firstSet = head.toFirstSet();
+        namingScheme = Block.label(head.getName());
+    }
+
+    /**
+     * Create a new {@link TakeWhile1} parser.
+     *
+     * @param charClass the characters to consume
+     */
+    public TakeWhile1(CharClass charClass) {
+        this(charClass, charClass);
+    }
+
+    @Override
+    public Function<List<Block>, String> getNamingScheme() {
+        return namingScheme;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return firstSet;
+    }
+
+    @Override
+    public String read(Block block) throws ParseException {
+        Input input = block.getInput();
+
+        if (!head.contains(input.peek(0))) {
+            throw new ParseException(block);
+        }
+
+        return input.read(1 + tail.span(input, 1));
+    }
+
+}
@@ -3,36 +3,46 @@ package de.plugh.compositeparse.xml;
 import de.plugh.compositeparse.Block;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
-import de.plugh.compositeparse.parsers.Expression;
+import de.plugh.compositeparse.parsers.CharClass;
 import de.plugh.compositeparse.parsers.Literal;
 import de.plugh.compositeparse.parsers.QuotedString;
-import de.plugh.compositeparse.parsers.Repeat;
+import de.plugh.compositeparse.parsers.RepeatFold;
+import de.plugh.compositeparse.parsers.SkipWhile;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.stream.Collector;
 
 public class AttributesParser implements Parser<Map<String, String>> {
 
-    @Override
-    public Map<String, String> read(Block block) throws ParseException {
-        List<Attribute> attributes = new Repeat<>(block1 -> {
-            new Expression("^\\s+").parse(block1);
+    // Named like the regex it replaced, so that error messages stay the same
+    private static final SkipWhile WHITESPACE = new SkipWhile(CharClass.WHITESPACE.named("regex \"^\\s+\""), 1);
+    private static final Literal<String> EQUALS = Literal.literally("=");
+    private static final QuotedString VALUE = new QuotedString();
+
+    private static final Parser<Attribute> ATTRIBUTE = block -> {
+        WHITESPACE.parse(block);
 
-            String name = new Expression(NodeParser.REGEX_NAME).parse(block1);
-            Literal.literally("=").parse(block1);
-            String value = new QuotedString().parse(block1);
+        String name = XmlCommon.NAME.parse(block);
+        EQUALS.parse(block);
+        String value = VALUE.parse(block);
 
-            return new Attribute(name, value);
-        }).parse(block);
+        return new Attribute(name, value);
+    };
 
-        Map<String, String> attributeMap = new HashMap<>();
-        attributes.forEach(attribute -> attributeMap.put(attribute.name, attribute.value));
+    // Later attributes replace earlier ones with the same name
+    private static final RepeatFold<Attribute, ?, Map<String, String>> ATTRIBUTES = new RepeatFold<>(ATTRIBUTE,
+            Collector.of(HashMap::new, (map, attribute) -> map.put(attribute.name, attribute.value), (left, right) -> {
+                left.putAll(right);
+                return left;
+            }));
 
-        return attributeMap;
+    @Override
+    public Map<String, String> read(Block block) throws ParseException {
+        return ATTRIBUTES.parse(block);
     }
 
-    private class Attribute {
+    private static class Attribute {
 
         final String name;
         final String value;
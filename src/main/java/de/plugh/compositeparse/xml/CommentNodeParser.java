@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.xml;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 import de.plugh.compositeparse.parsers.Expression;
@@ -11,16 +12,42 @@ import java.util.function.Function;
 
 public class CommentNodeParser implements Parser<CommentNode> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("xml comment");
+    private static final FirstSet FIRST_SET = FirstSet.of("<");
+    private static final Literal<String> START = Literal.literally("<!--");
+    private static final Expression CONTENT = new Expression("^.*(?=--)");
+    private static final Literal<String> END = Literal.literally("-->");
+
+    private final XmlHandler handler;
+
+    public CommentNodeParser(XmlHandler handler) {
+        this.handler = handler;
+    }
+
+    public CommentNodeParser() {
+        this(null);
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("xml comment");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FIRST_SET;
     }
 
     @Override
     public CommentNode read(Block block) throws ParseException {
-        Literal.literally("<!--").parse(block);
-        String content = new Expression("^.*(?=--)").parse(block);
-        Literal.literally("-->").parse(block);
+        START.parse(block);
+        String content = CONTENT.parse(block);
+        END.parse(block);
+
+        if (handler != null) {
+            handler.comment(content);
+            return null;
+        }
 
         return new CommentNode(content);
     }
@@ -5,23 +5,52 @@ import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 import de.plugh.compositeparse.parsers.Default;
 import de.plugh.compositeparse.parsers.Repeat;
+import de.plugh.compositeparse.parsers.RepeatFold;
 
 import java.util.List;
 import java.util.function.Function;
 
 public class DocumentParser implements Parser<Document> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("xml document");
+
+    private final XmlHandler handler;
+    private final Default<Prolog> prolog;
+    private final Parser<List<Node>> nodes;
+    private final Parser<Void> events;
+
+    public DocumentParser(XmlHandler handler) {
+        this.handler = handler;
+
+        prolog = new Default<>(null, new PrologParser(handler));
+        if (handler == null) {
+            nodes = new Repeat<>(new NodeParser());
+            events = null;
+        } else {
+            nodes = null;
+            events = new RepeatFold<>(new NodeParser(handler), XmlCommon.DISCARD);
+        }
+    }
+
+    public DocumentParser() {
+        this(null);
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("xml document");
+        return NAMING_SCHEME;
     }
 
     @Override
     public Document read(Block block) throws ParseException {
-        Prolog prolog = new Default<>(null, new PrologParser()).parse(block);
-        List<Node> nodes = new Repeat<>(new NodeParser()).parse(block);
+        Prolog prolog = this.prolog.parse(block);
+
+        if (handler != null) {
+            events.parse(block);
+            return null;
+        }
 
-        return new Document(prolog, nodes);
+        return new Document(prolog, nodes.parse(block));
     }
 
 }
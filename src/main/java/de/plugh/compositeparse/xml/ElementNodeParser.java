@@ -1,52 +1,103 @@
 package de.plugh.compositeparse.xml;
 
 import de.plugh.compositeparse.Block;
-import de.plugh.compositeparse.Pair;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Input;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 import de.plugh.compositeparse.parsers.*;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Function;
 
 public class ElementNodeParser implements Parser<ElementNode> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("xml element node");
+    private static final FirstSet FIRST_SET = FirstSet.of("<");
+    private static final StartTagParser START_TAG = new StartTagParser();
+
+    private final XmlHandler handler;
+    private final NodeParser children;
+    private final Repeat<Node> subnodes;
+    private final RepeatFold<Node, ?, Void> events;
+
+    public ElementNodeParser(XmlHandler handler) {
+        this.handler = handler;
+
+        children = new NodeParser(handler, this);
+        subnodes = new Repeat<>(children);
+        events = new RepeatFold<>(children, XmlCommon.DISCARD);
+    }
+
+    public ElementNodeParser() {
+        this(null);
+    }
+
+    NodeParser getChildren() {
+        return children;
+    }
+
+    /**
+     * Parse the closing tag of the element with the given name.
+     * <p>
+     * The tag is compared character by character, and the {@link Literal} (which gives the usual error message) is only
+     * built if it doesn't match.
+     *
+     * @param block the block to parse with
+     * @param name  the element's name
+     * @throws ParseException if the closing tag is missing
+     */
+    static void parseClosingTag(Block block, String name) throws ParseException {
+        Input input = block.getInput();
+        int length = name.length();
+
+        boolean matches = input.peek(0) == '<' && input.peek(1) == '/' && input.peek(length + 2) == '>';
+        for (int i = 0; matches && i < length; i++) {
+            matches = input.peek(i + 2) == name.charAt(i);
+        }
+
+        if (matches) {
+            input.move(length + 3);
+        } else {
+            new Label<>("closing tag", Literal.literally("</" + name + ">")).parse(block);
+        }
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("xml element node");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FIRST_SET;
     }
 
     @Override
     public ElementNode read(Block block) throws ParseException {
-        Literal.literally("<").parse(block);
-        String name = new Label<>("tag name", new Expression(NodeParser.REGEX_NAME)).parse(block);
-
-        Map<String, String> attributes = new AttributesParser().parse(block);
-
-        List<Node> subnodes = new Decision<List<Node>>(
-                // First, try to find a close tag
-                new Pair<>(
-                        block1 -> {
-                            new Repeat<>(Literal.literally(" ")).parse(block1);
-                            Literal.literally("/>").parse(block1);
-                            return null;
-                        },
-                        block1 -> new ArrayList<>()
-                ),
-                // If that fails, actually parse the contents and the rest
-                new Pair<>(
-                        Literal.literally(">"),
-                        block1 -> {
-                            List<Node> foundSubnodes = new Repeat<>(new NodeParser()).parse(block);
-                            new Label<>("closing tag", Literal.literally("</" + name + ">")).parse(block1);
-                            return foundSubnodes;
-                        }
-                )
-        ).parse(block);
-
-        return new ElementNode(name, attributes, subnodes);
+        StartTag tag = START_TAG.parse(block);
+        String name = tag.name;
+
+        if (handler != null) {
+            handler.startElement(name, tag.attributes);
+            if (!tag.empty) {
+                events.parse(block);
+                parseClosingTag(block, name);
+            }
+            handler.endElement(name);
+            return null;
+        }
+
+        List<Node> nodes;
+        if (tag.empty) {
+            nodes = new ArrayList<>();
+        } else {
+            nodes = subnodes.parse(block);
+            parseClosingTag(block, name);
+        }
+
+        return new ElementNode(name, tag.attributes, nodes);
     }
 
 }
@@ -1,21 +1,54 @@
 package de.plugh.compositeparse.xml;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 import de.plugh.compositeparse.parsers.Options;
 
 public class NodeParser implements Parser<Node> {
 
-    static final String REGEX_NAME = "[:a-zA-Z_][:a-zA-Z0-9_.-]*";
+    private final Options<Node> node;
+
+    public NodeParser(XmlHandler handler) {
+        node = handler == null ? Tree.TREE.node : new ElementNodeParser(handler).getChildren().node;
+    }
+
+    public NodeParser() {
+        this(null);
+    }
+
+    /*
+     * Elements contain nodes, so the grammar is recursive. Instead of building
+     * it lazily while parsing, the ElementNodeParser passes itself in here.
+     */
+    NodeParser(XmlHandler handler, ElementNodeParser element) {
+        node = new Options<>(
+                new CommentNodeParser(handler),
+                element,
+                new TextNodeParser(handler)
+        );
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return node.getFirstSet();
+    }
 
     @Override
     public Node read(Block block) throws ParseException {
-        return new Options<>(
-                block1 -> new CommentNodeParser().parse(block1),
-                block1 -> new ElementNodeParser().parse(block1),
-                block1 -> new TextNodeParser().parse(block1)
-        ).parse(block);
+        return node.parse(block);
+    }
+
+    /*
+     * Shared, so that the tree mode grammar is only built once. It lives in its
+     * own class so that it is only built when it is first needed, instead of
+     * while NodeParser is initialized, which the other parsers might wait for.
+     */
+    private static class Tree {
+
+        static final NodeParser TREE = new ElementNodeParser().getChildren();
+
     }
 
 }
@@ -1,6 +1,7 @@
 package de.plugh.compositeparse.xml;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
 import de.plugh.compositeparse.parsers.Literal;
@@ -11,16 +12,42 @@ import java.util.function.Function;
 
 public class PrologParser implements Parser<Prolog> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("xml prolog");
+    private static final FirstSet FIRST_SET = FirstSet.of("<");
+    private static final Literal<String> START = Literal.literally("<?xml");
+    private static final AttributesParser ATTRIBUTES = new AttributesParser();
+    private static final Literal<String> END = Literal.literally("?>");
+
+    private final XmlHandler handler;
+
+    public PrologParser(XmlHandler handler) {
+        this.handler = handler;
+    }
+
+    public PrologParser() {
+        this(null);
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("xml prolog");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FIRST_SET;
     }
 
     @Override
     public Prolog read(Block block) throws ParseException {
-        Literal.literally("<?xml").parse(block);
-        Map<String, String> attributes = new AttributesParser().parse(block);
-        Literal.literally("?>").parse(block);
+        START.parse(block);
+        Map<String, String> attributes = ATTRIBUTES.parse(block);
+        END.parse(block);
+
+        if (handler != null) {
+            handler.prolog(attributes);
+            return null;
+        }
 
         return new Prolog(attributes);
     }
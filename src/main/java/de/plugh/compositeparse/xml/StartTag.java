@@ -0,0 +1,20 @@
+package de.plugh.compositeparse.xml;
+
+import java.util.Map;
+
+/**
+ * An element's opening tag (or its whole tag, if it is empty).
+ */
+class StartTag {
+
+    final String name;
+    final Map<String, String> attributes;
+    final boolean empty;
+
+    StartTag(String name, Map<String, String> attributes, boolean empty) {
+        this.name = name;
+        this.attributes = attributes;
+        this.empty = empty;
+    }
+
+}
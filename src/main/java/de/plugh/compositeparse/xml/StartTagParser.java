@@ -0,0 +1,60 @@
+package de.plugh.compositeparse.xml;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
+import de.plugh.compositeparse.Pair;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.Parser;
+import de.plugh.compositeparse.parsers.Decision;
+import de.plugh.compositeparse.parsers.Label;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.Repeat;
+
+import java.util.Map;
+
+/**
+ * Parses an element's opening tag, like {@code <a href="...">}, or an empty element tag, like {@code <br/>}.
+ */
+class StartTagParser implements Parser<StartTag> {
+
+    private static final FirstSet FIRST_SET = FirstSet.of("<");
+    private static final Literal<String> OPEN = Literal.literally("<");
+    private static final Label<String> NAME = new Label<>("tag name", XmlCommon.NAME);
+    private static final AttributesParser ATTRIBUTES = new AttributesParser();
+    private static final Repeat<String> SPACES = new Repeat<>(Literal.literally(" "));
+    private static final Literal<String> EMPTY_END = Literal.literally("/>");
+
+    private static final Decision<Boolean> END = new Decision<>(
+            // First, try to find a close tag
+            new Pair<>(
+                    block -> {
+                        SPACES.parse(block);
+                        EMPTY_END.parse(block);
+                        return null;
+                    },
+                    block -> true
+            ),
+            // If that fails, the element has contents
+            new Pair<>(
+                    Literal.literally(">"),
+                    block -> false
+            )
+    );
+
+    @Override
+    public FirstSet getFirstSet() {
+        return FIRST_SET;
+    }
+
+    @Override
+    public StartTag read(Block block) throws ParseException {
+        OPEN.parse(block);
+        String name = NAME.parse(block);
+
+        Map<String, String> attributes = ATTRIBUTES.parse(block);
+        boolean empty = END.parse(block);
+
+        return new StartTag(name, attributes, empty);
+    }
+
+}
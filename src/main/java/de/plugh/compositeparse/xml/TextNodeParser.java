@@ -1,23 +1,48 @@
 package de.plugh.compositeparse.xml;
 
 import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.FirstSet;
 import de.plugh.compositeparse.ParseException;
 import de.plugh.compositeparse.Parser;
-import de.plugh.compositeparse.parsers.Expression;
+import de.plugh.compositeparse.parsers.CharClass;
+import de.plugh.compositeparse.parsers.TakeWhile1;
 
 import java.util.List;
 import java.util.function.Function;
 
 public class TextNodeParser implements Parser<TextNode> {
 
+    private static final Function<List<Block>, String> NAMING_SCHEME = Block.label("text");
+    private static final TakeWhile1 TEXT = new TakeWhile1(CharClass.of("<").complement());
+
+    private final XmlHandler handler;
+
+    public TextNodeParser(XmlHandler handler) {
+        this.handler = handler;
+    }
+
+    public TextNodeParser() {
+        this(null);
+    }
+
     @Override
     public Function<List<Block>, String> getNamingScheme() {
-        return Block.label("text");
+        return NAMING_SCHEME;
+    }
+
+    @Override
+    public FirstSet getFirstSet() {
+        return TEXT.getFirstSet();
     }
 
     @Override
     public TextNode read(Block block) throws ParseException {
-        String text = new Expression("^[^<]+").parse(block);
+        String text = TEXT.parse(block);
+
+        if (handler != null) {
+            handler.text(text);
+            return null;
+        }
 
         return new TextNode(text);
     }
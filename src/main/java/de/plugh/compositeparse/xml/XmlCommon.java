@@ -0,0 +1,34 @@
+package de.plugh.compositeparse.xml;
+
+import de.plugh.compositeparse.parsers.CharClass;
+import de.plugh.compositeparse.parsers.TakeWhile1;
+
+import java.util.stream.Collector;
+
+/**
+ * Parts shared by several XML parsers.
+ * <p>
+ * They are kept apart from the parsers themselves and must not refer back to any of them: The parsers' static
+ * initializers use these, and if this class needed one of the parsers in turn, two threads creating different parsers
+ * for the first time could wait for each other forever.
+ */
+final class XmlCommon {
+
+    // [:a-zA-Z_][:a-zA-Z0-9_.-]*, named like that regex so that error messages stay the same
+    static final CharClass NAME_START = CharClass.of(":_")
+            .union(CharClass.range('a', 'z'))
+            .union(CharClass.range('A', 'Z'))
+            .named("regex \"[:a-zA-Z_][:a-zA-Z0-9_.-]*\"");
+    static final CharClass NAME_CHAR = NAME_START
+            .union(CharClass.DIGIT)
+            .union(CharClass.of(".-"));
+    static final TakeWhile1 NAME = new TakeWhile1(NAME_START, NAME_CHAR);
+
+    // Used to repeat parsers in event mode without collecting their (null) results
+    static final Collector<Node, ?, Void> DISCARD = Collector.of(() -> null, (ignored, node) -> {
+    }, (left, right) -> null, ignored -> null);
+
+    private XmlCommon() {
+    }
+
+}
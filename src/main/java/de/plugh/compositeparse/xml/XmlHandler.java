@@ -0,0 +1,55 @@
+package de.plugh.compositeparse.xml;
+
+import java.util.Map;
+
+/**
+ * Receives the parts of an XML document as they are parsed, instead of them being collected into a {@link Document}.
+ * <p>
+ * Pass an {@link XmlHandler} to the constructor of any XML parser (usually {@link DocumentParser}) to switch it to
+ * event mode. In event mode, the parsers call the handler's methods and return null instead of building nodes, so the
+ * memory needed to parse a document only depends on how deeply its elements are nested.
+ * <p>
+ * Like in SAX, events are passed on as soon as they are recognised. If the parser later fails and backtracks, events
+ * that were already passed on are not taken back. This only happens for malformed documents, for example when an
+ * element's closing tag is missing.
+ * <p>
+ * All methods do nothing by default, so only the interesting ones need to be overwritten.
+ */
+public interface XmlHandler {
+
+    /**
+     * @param attributes the prolog's attributes
+     */
+    default void prolog(Map<String, String> attributes) {
+    }
+
+    /**
+     * An opening tag, or the beginning of an empty element tag (like {@code <br/>}).
+     *
+     * @param name       the element's name
+     * @param attributes the element's attributes
+     */
+    default void startElement(String name, Map<String, String> attributes) {
+    }
+
+    /**
+     * A closing tag, or the end of an empty element tag (like {@code <br/>}).
+     *
+     * @param name the element's name
+     */
+    default void endElement(String name) {
+    }
+
+    /**
+     * @param text text between tags (including whitespace)
+     */
+    default void text(String text) {
+    }
+
+    /**
+     * @param content the comment's content (without the surrounding {@code <!--} and {@code -->})
+     */
+    default void comment(String content) {
+    }
+
+}
@@ -0,0 +1,237 @@
+package de.plugh.compositeparse.xml;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.Input;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.StringInput;
+import de.plugh.compositeparse.parsers.Default;
+import de.plugh.compositeparse.parsers.Options;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Reads an XML document one token at a time, similar to StAX's {@code XMLStreamReader}.
+ * <p>
+ * Each call to {@link #next()} parses a single token (a prolog, an opening or closing tag, some text or a comment)
+ * using the same grammar as {@link DocumentParser}, and describes it through the getters. Nothing about earlier tokens
+ * is kept apart from the names of the currently open elements, and the input is {@link Input#commit() committed} after
+ * each token, so arbitrarily large documents can be read from a {@link de.plugh.compositeparse.ReaderInput}.
+ * <p>
+ * Empty elements (like {@code <br/>}) produce a {@link EventType#START_ELEMENT} followed by an
+ * {@link EventType#END_ELEMENT}, just like {@code <br></br>} would.
+ */
+public class XmlReader {
+
+    /**
+     * The kinds of tokens an {@link XmlReader} reports.
+     */
+    public enum EventType {
+        /**
+         * Nothing has been read yet.
+         */
+        START_DOCUMENT,
+        /**
+         * The prolog, like {@code <?xml version="1.0"?>}. Only its attributes are available.
+         */
+        PROLOG,
+        /**
+         * An opening tag. Its name and attributes are available.
+         */
+        START_ELEMENT,
+        /**
+         * A closing tag. Its name is available.
+         */
+        END_ELEMENT,
+        /**
+         * Text between tags (including whitespace).
+         */
+        TEXT,
+        /**
+         * A comment. Its content is available as text.
+         */
+        COMMENT,
+        /**
+         * The end of the input was reached.
+         */
+        END_DOCUMENT
+    }
+
+    private final Input input;
+    private final Deque<String> openElements = new ArrayDeque<>();
+
+    private final Default<Prolog> prolog;
+    private final Options<Object> token;
+
+    private EventType eventType = EventType.START_DOCUMENT;
+    private String name;
+    private Map<String, String> attributes;
+    private String text;
+    private boolean pendingEnd; // the last start tag was an empty element tag
+
+    /**
+     * Create a new {@link XmlReader}.
+     *
+     * @param input the input to read the document from
+     */
+    public XmlReader(Input input) {
+        this.input = input;
+
+        // The prolog, comment and text parsers report what they found through this handler
+        XmlHandler handler = new XmlHandler() {
+            @Override
+            public void prolog(Map<String, String> attributes) {
+                set(EventType.PROLOG, null, attributes, null);
+            }
+
+            @Override
+            public void text(String text) {
+                set(EventType.TEXT, null, null, text);
+            }
+
+            @Override
+            public void comment(String content) {
+                set(EventType.COMMENT, null, null, content);
+            }
+        };
+
+        prolog = new Default<>(null, new PrologParser(handler));
+        token = new Options<>(
+                new CommentNodeParser(handler),
+                new StartTagParser(),
+                new TextNodeParser(handler)
+        );
+    }
+
+    /**
+     * Create a new {@link XmlReader}.
+     *
+     * @param text the document
+     */
+    public XmlReader(String text) {
+        this(new StringInput(text));
+    }
+
+    private void set(EventType eventType, String name, Map<String, String> attributes, String text) {
+        this.eventType = eventType;
+        this.name = name;
+        this.attributes = attributes;
+        this.text = text;
+    }
+
+    /**
+     * Read the next token.
+     *
+     * @return the token's {@link EventType}
+     * @throws ParseException if the input is not well-formed
+     */
+    public EventType next() throws ParseException {
+        if (eventType == EventType.END_DOCUMENT) {
+            return eventType;
+        }
+
+        if (pendingEnd) {
+            pendingEnd = false;
+            set(EventType.END_ELEMENT, openElements.pop(), null, null);
+            return eventType;
+        }
+
+        // A new root block per token, so that nothing from earlier tokens is kept
+        Block block = new Block(input);
+
+        if (eventType == EventType.START_DOCUMENT) {
+            prolog.parse(block);
+            if (eventType == EventType.PROLOG) {
+                input.commit();
+                return eventType;
+            }
+        }
+
+        if (!openElements.isEmpty() && (input.complete() || (input.peek(0) == '<' && input.peek(1) == '/'))) {
+            // Only close the element once its closing tag was found, so that a failure leaves it open
+            String open = openElements.peek();
+            ElementNodeParser.parseClosingTag(block, open);
+            openElements.pop();
+            set(EventType.END_ELEMENT, open, null, null);
+        } else if (input.complete()) {
+            set(EventType.END_DOCUMENT, null, null, null);
+        } else {
+            Object result = token.parse(block);
+            if (result instanceof StartTag) {
+                StartTag tag = (StartTag) result;
+                openElements.push(tag.name);
+                pendingEnd = tag.empty;
+                set(EventType.START_ELEMENT, tag.name, tag.attributes, null);
+            }
+        }
+
+        input.commit();
+        return eventType;
+    }
+
+    /**
+     * Skip the rest of the current element, including all of its contents. Afterwards, the current token is the
+     * element's {@link EventType#END_ELEMENT}.
+     *
+     * @throws ParseException        if the input is not well-formed
+     * @throws IllegalStateException if the current token is not a {@link EventType#START_ELEMENT}
+     */
+    public void skipElement() throws ParseException {
+        if (eventType != EventType.START_ELEMENT) {
+            throw new IllegalStateException("Current token is " + eventType + ", not " + EventType.START_ELEMENT);
+        }
+
+        int depth = getDepth() - 1;
+        while (next() != EventType.END_ELEMENT || getDepth() > depth) {
+            // Only looking for the matching end tag
+        }
+    }
+
+    /**
+     * @return the current token's {@link EventType}
+     */
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * @return how many elements are currently open (an element counts from its start token up to, but not including, its end token)
+     */
+    public int getDepth() {
+        return openElements.size();
+    }
+
+    /**
+     * @return the element's name, if the current token is a {@link EventType#START_ELEMENT} or
+     * {@link EventType#END_ELEMENT} (otherwise null)
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param name an attribute's name
+     * @return the attribute's value, or null if the current token is not a {@link EventType#START_ELEMENT} or
+     * {@link EventType#PROLOG} or it has no such attribute
+     */
+    public String getAttribute(String name) {
+        return attributes == null ? null : attributes.get(name);
+    }
+
+    /**
+     * @return all attributes, if the current token is a {@link EventType#START_ELEMENT} or {@link EventType#PROLOG}
+     * (otherwise null)
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the text, if the current token is a {@link EventType#TEXT} or {@link EventType#COMMENT} (otherwise null)
+     */
+    public String getText() {
+        return text;
+    }
+
+}
@@ -0,0 +1,81 @@
+package de.plugh.compositeparse;
+
+import de.plugh.compositeparse.parsers.Commit;
+import de.plugh.compositeparse.parsers.EndOfInput;
+import de.plugh.compositeparse.parsers.Expression;
+import de.plugh.compositeparse.parsers.Literal;
+import de.plugh.compositeparse.parsers.Options;
+import de.plugh.compositeparse.parsers.Repeat;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReaderInputTest {
+
+    private static final int WINDOW = 64;
+
+    private static ReaderInput input(String text) {
+        return new ReaderInput(new StringReader(text), WINDOW);
+    }
+
+    @Test
+    void cursorIsClampedToTheBounds() {
+        ReaderInput input = input("a".repeat(100));
+
+        input.setCursor(-5);
+        assertEquals(0, input.getCursor());
+
+        input.move(1000);
+        assertEquals(100, input.getCursor());
+    }
+
+    @Test
+    void positionsAfterTheCommitPointStayAvailable() {
+        ReaderInput input = input("a".repeat(10000));
+
+        input.move(5000);
+        input.commit();
+        input.move(5000);
+        input.setCursor(5000);
+
+        assertEquals(5000, input.getCursor());
+        assertEquals("aaa", input.look(3));
+    }
+
+    @Test
+    void droppedPositionsCanNotBeReachedAgain() {
+        ReaderInput input = input("a".repeat(10000));
+
+        input.move(5000);
+        input.commit();
+        input.move(5000);
+
+        assertThrows(IllegalStateException.class, () -> input.setCursor(10));
+        assertThrows(IllegalStateException.class, () -> input.move(-9000));
+        assertEquals(10000, input.getCursor());
+    }
+
+    @Test
+    void commitInsideAnAlternativeFailsLoudly() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        text.append("garbage");
+
+        Parser<String> line = new Expression("^line \\d+\n");
+        Parser<Object> lines = block -> {
+            new Repeat<>(new Commit<>(line)).parse(block);
+            new EndOfInput<>().parse(block);
+            return null;
+        };
+        Options<Object> options = new Options<>(lines, Literal.literally("line"));
+
+        // Backtracking to the start of the first alternative would have to undo the commits
+        assertThrows(IllegalStateException.class, () -> options.parse(new Block(input(text.toString()))));
+    }
+
+}
@@ -0,0 +1,67 @@
+package de.plugh.compositeparse.parsers;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A scaled-down version of the LinearMatchBenchmark: Matching a regex over and over again until the end of the input
+ * must take time linear in the size of the input, so the time per character mustn't grow with the input.
+ */
+class LinearMatchTest {
+
+    private static final int SMALL = 1 << 18;
+    private static final int LARGE = 1 << 21;
+    private static final int RUNS = 5;
+
+    private static final RepeatFold<String, ?, Long> WORDS = new RepeatFold<>(new Expression("^[a-z]+ "),
+            Collectors.counting());
+    private static final EndOfInput<Void> END = new EndOfInput<>();
+
+    private static String words(int size) {
+        StringBuilder builder = new StringBuilder(size + 16);
+        while (builder.length() < size) {
+            builder.append("abcdefghijklm", 0, 1 + builder.length() % 13).append(' ');
+        }
+        return builder.toString();
+    }
+
+    private static long parse(String input) throws ParseException {
+        Block block = new Block(input);
+        long words = WORDS.parse(block);
+        END.parse(block);
+        return words;
+    }
+
+    // The fastest of a few runs, which is the one least disturbed by the JIT compiler and the garbage collector
+    private static double nanosPerChar(String input) throws ParseException {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            parse(input);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / input.length();
+    }
+
+    @Test
+    @Timeout(value = 60, threadMode = Timeout.ThreadMode.SEPARATE_THREAD) // Quadratic matching takes hours
+    void timePerCharacterDoesNotGrowWithTheInput() throws ParseException {
+        String small = words(SMALL);
+        String large = words(LARGE);
+
+        nanosPerChar(small); // warm up
+        double smallNanos = nanosPerChar(small);
+        double largeNanos = nanosPerChar(large);
+
+        // Eight times the input takes eight times as long if matching is linear, but 64 times if it is quadratic
+        double growth = largeNanos / smallNanos;
+        assertTrue(growth < 3, "time per character grew by a factor of " + growth);
+    }
+
+}
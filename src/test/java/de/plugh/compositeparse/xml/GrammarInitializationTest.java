@@ -0,0 +1,83 @@
+package de.plugh.compositeparse.xml;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Uses the XML parsers for the first time from several threads at once. The grammar is built by static initializers,
+ * which must not wait for each other in a cycle.
+ * <p>
+ * Classes are only initialized once per class loader, so each round loads the parsers through a fresh one.
+ */
+class GrammarInitializationTest {
+
+    private static final int ROUNDS = 20;
+    private static final int THREADS_PER_CLASS = 4;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static final String PACKAGE = "de.plugh.compositeparse.xml.";
+    private static final String[] GRAMMAR = {"DocumentParser", "PrologParser", "AttributesParser", "NodeParser",
+            "ElementNodeParser", "StartTagParser", "CommentNodeParser", "TextNodeParser", "XmlReader"};
+
+    private static Future<?> construct(ExecutorService executor, CountDownLatch start, ClassLoader loader,
+                                       String className, Class<?>[] parameterTypes, Object... arguments) {
+        return executor.submit(() -> {
+            Class<?> type = Class.forName(PACKAGE + className, false, loader);
+            start.await();
+            return type.getConstructor(parameterTypes).newInstance(arguments);
+        });
+    }
+
+    @Test
+    void parsersCanBeCreatedConcurrentlyForTheFirstTime() throws Exception {
+        URL classes = DocumentParser.class.getProtectionDomain().getCodeSource().getLocation();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            // Threads that are stuck in a deadlock can't be stopped, so they mustn't keep the JVM alive either
+            ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            try (URLClassLoader loader = new URLClassLoader(new URL[]{classes}, ClassLoader.getPlatformClassLoader())) {
+                // Loading the classes is slow and would keep the threads apart, so they only race to initialize them
+                for (String className : GRAMMAR) {
+                    Class.forName(PACKAGE + className, false, loader);
+                }
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < THREADS_PER_CLASS; i++) {
+                    futures.add(construct(executor, start, loader, "DocumentParser", new Class<?>[0]));
+                    futures.add(construct(executor, start, loader, "ElementNodeParser", new Class<?>[0]));
+                    futures.add(construct(executor, start, loader, "XmlReader", new Class<?>[]{String.class}, "<a/>"));
+                }
+                start.countDown();
+
+                for (Future<?> future : futures) {
+                    try {
+                        future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    } catch (TimeoutException e) {
+                        fail("Creating the parsers deadlocked in round " + round);
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+}
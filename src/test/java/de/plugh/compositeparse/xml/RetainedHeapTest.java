@@ -0,0 +1,89 @@
+package de.plugh.compositeparse.xml;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A scaled-down version of the XmlRetainedHeap measurement: While a document is parsed in event mode, the heap kept
+ * alive by the parse (apart from the document itself) must not grow with the amount of input parsed so far.
+ * <p>
+ * Without pruning the sub-blocks that no naming scheme needs, the larger document keeps hundreds of megabytes of
+ * {@link Block}s alive, so the limit leaves plenty of room for the noise of {@link System#gc()}.
+ */
+class RetainedHeapTest {
+
+    // Items of about 70 characters each, so about 256 KB and 4 MB
+    private static final int SMALL = 4000;
+    private static final int LARGE = 64000;
+    private static final long SLACK = 8 << 20;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private static String document(int items) {
+        StringBuilder document = new StringBuilder();
+        document.append("<?xml version=\"1.0\"?><root>");
+        for (int i = 0; i < items; i++) {
+            // One item per line, since a comment's content reaches up to the last "--" in its line
+            document.append("<item key=\"").append(i).append("\"><value>").append(i * 31).append("</value>");
+            document.append("<!-- comment --><empty/></item>\n");
+        }
+        return document.append("</root>").toString();
+    }
+
+    private static long usedAfterGc() {
+        // One collection doesn't always get rid of everything
+        System.gc();
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * @return the most heap retained by the parse at any of a few points of the document, in bytes
+     */
+    private static long maxRetained(int items) throws ParseException {
+        String xml = document(items);
+        long elements = 1 + 3L * items;
+        long[] used = new long[4];
+
+        new DocumentParser(new XmlHandler() {
+            private long started;
+            private int sample;
+
+            @Override
+            public void startElement(String name, Map<String, String> attributes) {
+                started++;
+                if (sample < used.length && started >= elements * (sample + 1) / used.length) {
+                    used[sample++] = usedAfterGc();
+                }
+            }
+        }).parse(new Block(xml));
+        assertNotEquals(0, used[used.length - 1], "the parse stopped before the last element");
+
+        // Only the document itself is left once the parse is over
+        long baseline = usedAfterGc();
+        long max = 0;
+        for (long sample : used) {
+            max = Math.max(max, sample - baseline);
+        }
+        return max;
+    }
+
+    @Test
+    void retainedHeapDoesNotGrowWithTheDocument() throws ParseException {
+        maxRetained(SMALL); // load and initialise everything first
+
+        long small = maxRetained(SMALL);
+        long large = maxRetained(LARGE);
+
+        assertTrue(large < small + SLACK, "the large document retained " + large + " bytes, the small one " + small);
+    }
+
+}
@@ -0,0 +1,123 @@
+package de.plugh.compositeparse.xml;
+
+import de.plugh.compositeparse.Block;
+import de.plugh.compositeparse.ParseException;
+import de.plugh.compositeparse.parsers.EndOfInput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parses thousands of documents from many threads at once with a single {@link DocumentParser}, and compares the
+ * results with those of a fresh parser per document, parsed one after the other.
+ */
+class SharedGrammarTest {
+
+    private static final int DOCUMENTS = 4000;
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 3;
+
+    private static final EndOfInput<Void> END = new EndOfInput<>();
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startThreads() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void stopThreads() {
+        executor.shutdownNow();
+    }
+
+    private static List<String> documents(long seed) {
+        Random random = new Random(seed);
+        List<String> documents = new ArrayList<>();
+
+        for (int i = 0; i < DOCUMENTS; i++) {
+            StringBuilder document = new StringBuilder("<?xml version=\"1.0\"?>");
+            document.append("<root id=\"").append(i).append("\">");
+            int items = random.nextInt(50);
+            for (int j = 0; j < items; j++) {
+                document.append("<item key=\"").append(j).append("\" kind=\"").append(random.nextInt(3)).append("\">");
+                document.append("<value>").append(random.nextInt()).append("</value>");
+                document.append("<!-- comment ").append(j).append(" -->");
+                document.append("<empty/>");
+                document.append("</item>");
+            }
+            document.append("</root>");
+            documents.add(document.toString());
+        }
+
+        return documents;
+    }
+
+    private static String parse(DocumentParser parser, String document) {
+        Block block = new Block(document);
+        try {
+            Document result = parser.parse(block);
+            END.parse(block);
+            return result.prettyPrint();
+        } catch (ParseException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    private List<String> parseShared(DocumentParser parser, List<String> documents) throws Exception {
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String document : documents) {
+                tasks.add(() -> parse(parser, document));
+            }
+        }
+
+        List<String> results = new ArrayList<>();
+        for (Future<String> future : executor.invokeAll(tasks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private List<String> assertSameAsSequential(List<String> documents) throws Exception {
+        List<String> expected = new ArrayList<>();
+        for (String document : documents) {
+            expected.add(parse(new DocumentParser(), document));
+        }
+
+        List<String> actual = parseShared(new DocumentParser(), documents);
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(expected.get(i % documents.size()), actual.get(i), "document " + i % documents.size());
+        }
+        return expected;
+    }
+
+    @Test
+    void sharedParserBuildsTheSameTrees() throws Exception {
+        assertSameAsSequential(documents(1));
+    }
+
+    @Test
+    void sharedParserReportsTheSameErrors() throws Exception {
+        List<String> documents = new ArrayList<>();
+        for (String document : documents(2)) {
+            documents.add(document.replace("</root>", "</rot>"));
+        }
+
+        for (String result : assertSameAsSequential(documents)) {
+            assertTrue(result.startsWith("error: "), result);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package de.plugh.compositeparse.xml;
+
+import de.plugh.compositeparse.ParseException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class XmlReaderTest {
+
+    @Test
+    void mismatchedClosingTagKeepsTheElementOpen() throws ParseException {
+        XmlReader reader = new XmlReader("<a><b></a>");
+
+        assertEquals(XmlReader.EventType.START_ELEMENT, reader.next());
+        assertEquals(XmlReader.EventType.START_ELEMENT, reader.next());
+        assertEquals(2, reader.getDepth());
+
+        assertThrows(ParseException.class, reader::next);
+        assertEquals(2, reader.getDepth());
+        assertEquals("b", reader.getName());
+    }
+
+    @Test
+    void missingClosingTagKeepsTheElementOpen() throws ParseException {
+        XmlReader reader = new XmlReader("<a>text");
+
+        assertEquals(XmlReader.EventType.START_ELEMENT, reader.next());
+        assertEquals(XmlReader.EventType.TEXT, reader.next());
+
+        assertThrows(ParseException.class, reader::next);
+        assertEquals(1, reader.getDepth());
+    }
+
+}